@@ -2,9 +2,16 @@ package com.skillconnect.server.controller;
 
 import com.skillconnect.server.model.AdminMessage;
 import com.skillconnect.server.service.AdminMessageService;
+import com.skillconnect.server.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -13,10 +20,12 @@ import java.util.List;
 public class AdminMessageController {
 
     private final AdminMessageService adminMessageService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AdminMessageController(AdminMessageService adminMessageService) {
+    public AdminMessageController(AdminMessageService adminMessageService, ObjectMapper objectMapper) {
         this.adminMessageService = adminMessageService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -37,6 +46,17 @@ public class AdminMessageController {
         return ResponseEntity.ok(adminMessageService.findAllMessages());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<Page<AdminMessage>> getMessagesPage(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(adminMessageService.findAllMessages(pageable));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMessages() {
+        StreamingResponseBody body = out -> adminMessageService.streamAllMessages(new NdjsonWriter<>(out, objectMapper));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/admin/{adminId}")
     public ResponseEntity<List<AdminMessage>> getMessagesByAdminId(@PathVariable int adminId) {
 
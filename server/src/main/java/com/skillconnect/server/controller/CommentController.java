@@ -1,10 +1,14 @@
 package com.skillconnect.server.controller;
 
+import com.skillconnect.server.dto.CursorPage;
 import com.skillconnect.server.model.Comment;
+import com.skillconnect.server.realtime.CommentStream;
 import com.skillconnect.server.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -13,10 +17,12 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentStream commentStream;
 
     @Autowired
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, CommentStream commentStream) {
         this.commentService = commentService;
+        this.commentStream = commentStream;
     }
 
     @PostMapping
@@ -37,6 +43,27 @@ public class CommentController {
         return ResponseEntity.ok(commentService.findCommentsByPostId(postId));
     }
 
+    @GetMapping("/post/{postId}/page")
+    public ResponseEntity<CursorPage<Comment>> getCommentPage(
+            @PathVariable int postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.findCommentPage(postId, cursor, size));
+    }
+
+    @GetMapping(value = "/post/{postId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamComments(@PathVariable int postId) {
+        return ResponseEntity.ok(commentStream.subscribe(postId));
+    }
+
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<CursorPage<Comment>> getReplies(
+            @PathVariable int commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.findReplyPage(commentId, cursor, size));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Comment>> getCommentsByUserId(@PathVariable int userId) {
         return ResponseEntity.ok(commentService.findCommentsByUserId(userId));
@@ -1,11 +1,16 @@
 package com.skillconnect.server.controller;
 
+import com.skillconnect.server.dto.FollowStatusDTO;
+import com.skillconnect.server.dto.FollowSuggestionDTO;
 import com.skillconnect.server.model.Follow;
+import com.skillconnect.server.model.FollowCounter;
 import com.skillconnect.server.service.FollowService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/follow")
 public class FollowController {
@@ -39,6 +44,35 @@ public class FollowController {
         return ResponseEntity.ok(followService.getFollowingCount(userId));
     }
 
+    @GetMapping("/{userId}/counts")
+    public ResponseEntity<FollowCounter> getFollowCounts(@PathVariable int userId) {
+        return ResponseEntity.ok(followService.getFollowCounts(userId));
+    }
+
+    @GetMapping("/{userId}/followers")
+    public ResponseEntity<int[]> getFollowerIds(@PathVariable int userId) {
+        return ResponseEntity.ok(followService.getFollowerIds(userId));
+    }
+
+    @GetMapping("/{userId}/following")
+    public ResponseEntity<int[]> getFollowingIds(@PathVariable int userId) {
+        return ResponseEntity.ok(followService.getFollowingIds(userId));
+    }
+
+    @GetMapping("/{viewerId}/status")
+    public ResponseEntity<List<FollowStatusDTO>> getFollowStatus(
+            @PathVariable int viewerId,
+            @RequestParam List<Integer> targets) {
+        return ResponseEntity.ok(followService.getFollowStatus(viewerId, targets));
+    }
+
+    @GetMapping("/{userId}/suggestions")
+    public ResponseEntity<List<FollowSuggestionDTO>> getSuggestions(
+            @PathVariable int userId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(followService.getSuggestions(userId, limit));
+    }
+
     @GetMapping("/check")
     public ResponseEntity<Boolean> isFollowing(
             @RequestParam int followerId,
@@ -2,10 +2,17 @@ package com.skillconnect.server.controller;
 
 import com.skillconnect.server.model.LearningUpdate;
 import com.skillconnect.server.service.LearningUpdateService;
+import com.skillconnect.server.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,6 +22,7 @@ import java.util.List;
 public class LearningUpdateController {
 
     private final LearningUpdateService learningUpdateService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<LearningUpdate> createLearningUpdate(@RequestBody LearningUpdate learningUpdate) {
@@ -35,6 +43,17 @@ public class LearningUpdateController {
         return new ResponseEntity<>(updates, HttpStatus.OK);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<Page<LearningUpdate>> getLearningUpdatesPage(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(learningUpdateService.findAllLearningUpdates(pageable));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLearningUpdates() {
+        StreamingResponseBody body = out -> learningUpdateService.streamAllLearningUpdates(new NdjsonWriter<>(out, objectMapper));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<LearningUpdate>> getLearningUpdatesByUserId(@PathVariable int userId) {
         List<LearningUpdate> updates = learningUpdateService.findByUserId(userId);
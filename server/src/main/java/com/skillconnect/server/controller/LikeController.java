@@ -3,10 +3,12 @@ package com.skillconnect.server.controller;
 import com.skillconnect.server.model.Like;
 import com.skillconnect.server.service.LikeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/likes")
@@ -20,9 +22,9 @@ public class LikeController {
     }
 
     @PostMapping("/{postId}/user/{userId}")
-    public ResponseEntity<Like> likePost(@PathVariable int postId, @PathVariable int userId) {
-        Like like = likeService.likePost(postId, userId);
-        return ResponseEntity.ok(like);
+    public ResponseEntity<Boolean> likePost(@PathVariable int postId, @PathVariable int userId) {
+        boolean created = likeService.likePost(postId, userId);
+        return ResponseEntity.status(created ? HttpStatus.CREATED : HttpStatus.OK).body(created);
     }
 
     @DeleteMapping("/{postId}/user/{userId}")
@@ -36,5 +38,17 @@ public class LikeController {
         List<Like> likes = likeService.findLikesByPostId(postId);
         return ResponseEntity.ok(likes);
     }
+
+    @GetMapping("/{postId}/count")
+    public ResponseEntity<Long> countLikes(@PathVariable int postId) {
+        return ResponseEntity.ok(likeService.countLikes(postId));
+    }
+
+    @GetMapping("/user/{userId}/status")
+    public ResponseEntity<Map<Integer, Boolean>> getLikeStatus(
+            @PathVariable int userId,
+            @RequestParam List<Integer> postIds) {
+        return ResponseEntity.ok(likeService.findLikeStatus(userId, postIds));
+    }
 }
 
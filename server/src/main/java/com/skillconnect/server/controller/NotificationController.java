@@ -1,12 +1,15 @@
 package com.skillconnect.server.controller;
 
-import com.skillconnect.server.model.Notification;
+import com.skillconnect.server.dto.NotificationDTO;
+import com.skillconnect.server.realtime.NotificationStream;
 import com.skillconnect.server.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,9 +20,10 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStream notificationStream;
 
     @GetMapping("/{notificationId}")
-    public ResponseEntity<Notification> getNotificationById(@PathVariable int notificationId) {
+    public ResponseEntity<NotificationDTO> getNotificationById(@PathVariable int notificationId) {
         log.info("REST request to get notification by ID: {}", notificationId);
         return notificationService.findById(notificationId)
                 .map(notification -> new ResponseEntity<>(notification, HttpStatus.OK))
@@ -27,19 +31,33 @@ public class NotificationController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Notification>> getNotificationsByUserId(@PathVariable int userId) {
+    public ResponseEntity<List<NotificationDTO>> getNotificationsByUserId(@PathVariable int userId,
+                                                                       @RequestParam(required = false) Integer days) {
         log.info("REST request to get notifications by user ID: {}", userId);
-        List<Notification> notifications = notificationService.findNotificationsByUserId(userId);
+        List<NotificationDTO> notifications = notificationService.findNotificationsByUserId(userId, days);
         return new ResponseEntity<>(notifications, HttpStatus.OK);
     }
 
     @GetMapping("/user/{userId}/unread")
-    public ResponseEntity<List<Notification>> getUnreadNotificationsByUserId(@PathVariable int userId) {
+    public ResponseEntity<List<NotificationDTO>> getUnreadNotificationsByUserId(@PathVariable int userId,
+                                                                             @RequestParam(required = false) Integer days) {
         log.info("REST request to get unread notifications by user ID: {}", userId);
-        List<Notification> notifications = notificationService.findUnreadNotificationsByUserId(userId);
+        List<NotificationDTO> notifications = notificationService.findUnreadNotificationsByUserId(userId, days);
         return new ResponseEntity<>(notifications, HttpStatus.OK);
     }
 
+    @GetMapping("/user/{userId}/unread/count")
+    public ResponseEntity<Long> getUnreadCount(@PathVariable int userId) {
+        log.info("REST request to get unread notification count for user ID: {}", userId);
+        return new ResponseEntity<>(notificationService.getUnreadCount(userId), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(@PathVariable int userId) {
+        log.info("REST request to stream notifications for user ID: {}", userId);
+        return new ResponseEntity<>(notificationStream.subscribe(userId), HttpStatus.OK);
+    }
+
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable int notificationId) {
         log.info("REST request to mark notification as read: {}", notificationId);
@@ -48,10 +66,15 @@ public class NotificationController {
     }
 
     @PutMapping("/user/{userId}/read-all")
-    public ResponseEntity<Void> markAllAsRead(@PathVariable int userId) {
+    public ResponseEntity<Integer> markAllAsRead(@PathVariable int userId) {
         log.info("REST request to mark all notifications as read for user ID: {}", userId);
-        notificationService.markAllAsRead(userId);
-        return new ResponseEntity<>(HttpStatus.OK);
+        return new ResponseEntity<>(notificationService.markAllAsRead(userId), HttpStatus.OK);
+    }
+
+    @PutMapping("/user/{userId}/read")
+    public ResponseEntity<Integer> markAsRead(@PathVariable int userId, @RequestBody List<Integer> notificationIds) {
+        log.info("REST request to mark {} notifications as read for user ID: {}", notificationIds.size(), userId);
+        return new ResponseEntity<>(notificationService.markAsRead(userId, notificationIds), HttpStatus.OK);
     }
 
     @DeleteMapping("/{notificationId}")
@@ -62,9 +85,8 @@ public class NotificationController {
     }
 
     @DeleteMapping("/user/{userId}")
-    public ResponseEntity<Void> deleteAllNotifications(@PathVariable int userId) {
+    public ResponseEntity<Integer> deleteAllNotifications(@PathVariable int userId) {
         log.info("REST request to delete all notifications for user ID: {}", userId);
-        notificationService.deleteAllNotifications(userId);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        return new ResponseEntity<>(notificationService.deleteAllNotifications(userId), HttpStatus.OK);
     }
 }
@@ -1,23 +1,35 @@
 package com.skillconnect.server.controller;
 
+import com.skillconnect.server.dto.CursorPage;
+import com.skillconnect.server.dto.PostCardDTO;
 import com.skillconnect.server.model.Post;
 import com.skillconnect.server.service.PostService;
+import com.skillconnect.server.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/posts")
 public class PostController {
 
     private final PostService postService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService, ObjectMapper objectMapper) {
         this.postService = postService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -39,6 +51,24 @@ public class PostController {
         return ResponseEntity.ok(posts);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<Page<Post>> getPostsPage(@PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(postService.findAllPosts(pageable));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPosts() {
+        StreamingResponseBody body = out -> postService.streamAllPosts(new NdjsonWriter<>(out, objectMapper));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<PostCardDTO>> getPostCards(
+            @RequestParam List<Integer> ids,
+            @RequestParam int viewerId) {
+        return ResponseEntity.ok(postService.findPostCards(ids, viewerId));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Post>> getPostsByUserId(@PathVariable int userId) {
         List<Post> posts = postService.findPostsByUserId(userId);
@@ -62,5 +92,30 @@ public class PostController {
         List<Post> posts = postService.loadFeed(userId);
         return ResponseEntity.ok(posts);
     }
+
+    @GetMapping("/feed/{userId}")
+    public ResponseEntity<CursorPage<Post>> loadFeedPage(
+            @PathVariable int userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(postService.loadFeedPage(userId, cursor, size));
+    }
+
+    @GetMapping("/feed/{userId}/ranked")
+    public ResponseEntity<List<Post>> loadRankedFeed(
+            @PathVariable int userId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(postService.loadRankedFeed(userId, limit));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<Post>> getTrendingPosts(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(postService.findTrendingPosts(limit));
+    }
+
+    @GetMapping("/feed/stats")
+    public ResponseEntity<Map<String, Long>> getFeedStats() {
+        return ResponseEntity.ok(postService.getFeedStats());
+    }
 }
 
@@ -0,0 +1,21 @@
+package com.skillconnect.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private Type type;
+    private int postId;
+    private int commentId;
+    private Integer parentCommentId;
+
+    // Null for DELETED events
+    private CommentPushDTO comment;
+}
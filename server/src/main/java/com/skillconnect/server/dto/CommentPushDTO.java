@@ -0,0 +1,26 @@
+package com.skillconnect.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * What stream subscribers receive for a comment; carries only the author's ID and name, never the
+ * author entity.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentPushDTO {
+
+    private int commentId;
+    private int postId;
+    private Integer parentCommentId;
+    private int authorId;
+    private String authorName;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
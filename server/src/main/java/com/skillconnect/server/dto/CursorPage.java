@@ -0,0 +1,19 @@
+package com.skillconnect.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items = new ArrayList<>();
+
+    // Null when there are no further pages
+    private String nextCursor;
+}
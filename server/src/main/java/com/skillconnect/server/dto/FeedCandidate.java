@@ -0,0 +1,29 @@
+package com.skillconnect.server.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class FeedCandidate {
+
+    private int postId;
+    private int authorId;
+    private LocalDateTime createdAt;
+    private long likeCount;
+    private long commentCount;
+
+    // Number of the viewer's likes on this author's posts
+    private long authorAffinity;
+
+    // Used by JPQL constructor expressions, which yield wrapper types
+    public FeedCandidate(Integer postId, Integer authorId, LocalDateTime createdAt, Long likeCount, Long commentCount) {
+        this.postId = postId;
+        this.authorId = authorId;
+        this.createdAt = createdAt;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+    }
+}
@@ -0,0 +1,19 @@
+package com.skillconnect.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FollowStatusDTO {
+
+    private int userId;
+
+    // The viewer follows this user
+    private boolean following;
+
+    // This user follows the viewer
+    private boolean followedBy;
+}
@@ -0,0 +1,27 @@
+package com.skillconnect.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A suggested user and why they were suggested. Carries only public profile fields, since
+ * suggestions are strangers to the viewer; never the user entity with its email and password.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FollowSuggestionDTO {
+
+    private int userId;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String profileImage;
+    private String bio;
+
+    // How many of the viewer's followees already follow this user
+    private int mutualFollows;
+
+    private int sharedCategories;
+}
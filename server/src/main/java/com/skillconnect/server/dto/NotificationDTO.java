@@ -0,0 +1,27 @@
+package com.skillconnect.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification as returned to its recipient, with content rendered from the structured fields.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationDTO {
+
+    private int notificationId;
+    private Integer actorId;
+    private int actorCount;
+    private String verb;
+    private String targetType;
+    private Integer targetId;
+    private String content;
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
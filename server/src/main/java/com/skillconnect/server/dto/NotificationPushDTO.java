@@ -0,0 +1,25 @@
+package com.skillconnect.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a connected client receives for a new or updated notification; unlike the entity it does
+ * not embed the recipient.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationPushDTO {
+
+    private int notificationId;
+    private String verb;
+    private String targetType;
+    private Integer targetId;
+    private String content;
+    private int actorCount;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.skillconnect.server.dto;
+
+import com.skillconnect.server.model.Post;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything a feed card renders: the post with its author and counts, plus the viewer's like state.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostCardDTO {
+
+    private Post post;
+    private boolean likedByViewer;
+}
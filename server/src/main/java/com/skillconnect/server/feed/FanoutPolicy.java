@@ -0,0 +1,125 @@
+package com.skillconnect.server.feed;
+
+import com.skillconnect.server.repository.FollowRepository;
+import com.skillconnect.server.repository.UserRepository;
+import com.skillconnect.server.service.TimelineService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether an author's posts are pushed into follower timelines on write or pulled into
+ * them at read time. Authors with more followers than the threshold are pull authors, so one
+ * post from them never turns into a fan-out of that many rows.
+ */
+@Log4j2
+@Component
+public class FanoutPolicy {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final TimelineService timelineService;
+
+    @Value("${feed.fanout.follower-threshold}")
+    private int followerThreshold;
+
+    private final Set<Integer> pullAuthors = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder pushedPosts = new LongAdder();
+    private final LongAdder pullOnlyPosts = new LongAdder();
+    private final LongAdder pushFeeds = new LongAdder();
+    private final LongAdder hybridFeeds = new LongAdder();
+    private final LongAdder assembledFeeds = new LongAdder();
+
+    @Autowired
+    public FanoutPolicy(FollowRepository followRepository, UserRepository userRepository, TimelineService timelineService) {
+        this.followRepository = followRepository;
+        this.userRepository = userRepository;
+        this.timelineService = timelineService;
+    }
+
+    /**
+     * Write-side decision for a new post, based on the author's current follower count.
+     */
+    public boolean shouldPush(int authorId) {
+        int followers = followRepository.countByUser(userRepository.getReferenceById(authorId));
+        boolean push = followers <= followerThreshold;
+        if (push) {
+            if (pullAuthors.remove(authorId)) {
+                movedToPush(authorId);
+            }
+            pushedPosts.increment();
+        } else {
+            pullAuthors.add(authorId);
+            pullOnlyPosts.increment();
+        }
+        log.debug("Author ID {} has {} followers, delivering by {}", authorId, followers, push ? "push" : "pull");
+        return push;
+    }
+
+    public boolean isPullAuthor(int authorId) {
+        return pullAuthors.contains(authorId);
+    }
+
+    public boolean hasPullAuthors() {
+        return !pullAuthors.isEmpty();
+    }
+
+    public List<Integer> pullAuthorsAmong(List<Integer> authorIds) {
+        return authorIds.stream().filter(pullAuthors::contains).toList();
+    }
+
+    @Transactional
+    @Scheduled(initialDelay = 0, fixedDelayString = "${feed.fanout.refresh-interval-ms}")
+    public void refreshPullAuthors() {
+        List<Integer> authors = followRepository.findUserIdsWithMoreFollowersThan(followerThreshold);
+        Set<Integer> current = new HashSet<>(authors);
+        for (Integer authorId : List.copyOf(pullAuthors)) {
+            if (!current.contains(authorId) && pullAuthors.remove(authorId)) {
+                movedToPush(authorId);
+            }
+        }
+        pullAuthors.addAll(authors);
+        log.info("Refreshed pull authors: {} authors above {} followers", pullAuthors.size(), followerThreshold);
+    }
+
+    // Posts from the pull period only reached the author's own timeline; readers stop merging them in now
+    private void movedToPush(int authorId) {
+        log.info("Author ID {} is delivered by push again, backfilling follower timelines", authorId);
+        timelineService.backfillFollowers(authorId);
+    }
+
+    public void recordPushFeed() {
+        pushFeeds.increment();
+    }
+
+    public void recordHybridFeed() {
+        hybridFeeds.increment();
+    }
+
+    public void recordAssembledFeed() {
+        assembledFeeds.increment();
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("pullAuthors", (long) pullAuthors.size());
+        stats.put("postsPushed", pushedPosts.sum());
+        stats.put("postsPullOnly", pullOnlyPosts.sum());
+        stats.put("feedsPush", pushFeeds.sum());
+        stats.put("feedsHybrid", hybridFeeds.sum());
+        stats.put("feedsAssembled", assembledFeeds.sum());
+        return stats;
+    }
+}
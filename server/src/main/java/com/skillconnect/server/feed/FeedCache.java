@@ -0,0 +1,144 @@
+package com.skillconnect.server.feed;
+
+import com.skillconnect.server.cache.BoundedTtlCache;
+import com.skillconnect.server.dto.CursorPage;
+import com.skillconnect.server.util.TransactionHooks;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Assembled feed pages per reader. Entries are weighted by the number of posts they hold.
+ * <p>
+ * Invalidation gives the user a fresh generation that is part of every key, so it is O(1) per user
+ * and superseded pages simply age out of the LRU order. Generations are drawn from one global
+ * sequence and never reused, so a generation can be forgotten once every page cached before it has
+ * expired; the map only holds users invalidated within the last TTL.
+ * <p>
+ * Posts by pull authors do not invalidate their followers. Instead each page remembers the
+ * generation of every pull author it was built from, and is rebuilt on read once any of them has
+ * published since.
+ */
+@Log4j2
+@Component
+public class FeedCache {
+
+    private final BoundedTtlCache<FeedKey, Cached> cache;
+    private final long ttlNanos;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Integer, Generation> generations = new ConcurrentHashMap<>();
+    private final Map<Integer, Generation> authorGenerations = new ConcurrentHashMap<>();
+
+    public FeedCache(@Value("${feed.cache.max-weight}") long maxWeight,
+                     @Value("${feed.cache.ttl-seconds}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxWeight, Duration.ofSeconds(ttlSeconds), FeedCache::weigh);
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        log.info("FeedCache initialized with max weight {} and TTL {}s", maxWeight, ttlSeconds);
+    }
+
+    /**
+     * Returns the cached page or builds it. {@code pullAuthors} names the pull authors the reader
+     * follows and is only evaluated when the page is built.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(int userId, String view, Supplier<Collection<Integer>> pullAuthors, Supplier<T> loader) {
+        FeedKey key = new FeedKey(userId, valueOf(generations.get(userId)), view);
+        Cached cached = cache.get(key);
+        if (cached != null && cached.isCurrent(authorGenerations)) {
+            return (T) cached.value();
+        }
+        // Stamped before loading, so a post published while the page is built makes it stale
+        Map<Integer, Long> stamps = new HashMap<>();
+        pullAuthors.get().forEach(authorId -> stamps.put(authorId, valueOf(authorGenerations.get(authorId))));
+        T value = loader.get();
+        if (value != null) {
+            cache.put(key, new Cached(value, stamps));
+        }
+        return value;
+    }
+
+    /**
+     * Drops every cached page of the given readers once the surrounding transaction commits.
+     */
+    public void invalidateAfterCommit(Collection<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            long now = System.nanoTime();
+            userIds.forEach(userId -> generations.put(userId, new Generation(sequence.incrementAndGet(), now)));
+            log.debug("Invalidated cached feeds of {} users", userIds.size());
+        });
+    }
+
+    /**
+     * Marks the cached pages built from this pull author's posts as stale once the surrounding
+     * transaction commits, without touching each follower.
+     */
+    public void invalidateAuthorAfterCommit(int authorId) {
+        TransactionHooks.afterCommit(() ->
+                authorGenerations.put(authorId, new Generation(sequence.incrementAndGet(), System.nanoTime())));
+    }
+
+    /**
+     * Forgets generations older than the TTL. Pages keyed by any earlier generation of those users,
+     * including 0, have expired by then, so falling back to 0 cannot resurrect them.
+     */
+    @Scheduled(fixedDelayString = "${feed.cache.prune-interval-ms}")
+    public void pruneGenerations() {
+        long now = System.nanoTime();
+        generations.values().removeIf(generation -> now - generation.invalidatedAt() > ttlNanos);
+        // A forgotten author generation reads as 0, which no longer matches pages stamped after it
+        authorGenerations.values().removeIf(generation -> now - generation.invalidatedAt() > ttlNanos);
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = cache.stats();
+        stats.put("generations", (long) generations.size());
+        stats.put("authorGenerations", (long) authorGenerations.size());
+        return stats;
+    }
+
+    private static long valueOf(Generation generation) {
+        return generation == null ? 0L : generation.value();
+    }
+
+    private static int weigh(Cached cached) {
+        Object value = cached.value();
+        if (value instanceof List<?> list) {
+            return list.size();
+        }
+        if (value instanceof CursorPage<?> page) {
+            return page.getItems().size();
+        }
+        return 1;
+    }
+
+    private record FeedKey(int userId, long generation, String view) {
+    }
+
+    private record Generation(long value, long invalidatedAt) {
+    }
+
+    private record Cached(Object value, Map<Integer, Long> authorStamps) {
+
+        boolean isCurrent(Map<Integer, Generation> authorGenerations) {
+            for (Map.Entry<Integer, Long> stamp : authorStamps.entrySet()) {
+                if (valueOf(authorGenerations.get(stamp.getKey())) != stamp.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
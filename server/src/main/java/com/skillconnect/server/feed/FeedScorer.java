@@ -0,0 +1,14 @@
+package com.skillconnect.server.feed;
+
+import com.skillconnect.server.dto.FeedCandidate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scores feed candidates for the ranked feed. Higher scores rank first.
+ * Declare another bean of this type as {@code @Primary} to replace the default scorer.
+ */
+public interface FeedScorer {
+
+    double score(FeedCandidate candidate, LocalDateTime now);
+}
@@ -0,0 +1,40 @@
+package com.skillconnect.server.feed;
+
+import com.skillconnect.server.dto.FeedCandidate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Engagement (likes, comments, author affinity) on a log scale, decayed exponentially by post age.
+ */
+@Component
+public class RecencyEngagementScorer implements FeedScorer {
+
+    @Value("${feed.rank.half-life-hours}")
+    private double halfLifeHours;
+
+    @Value("${feed.rank.like-weight}")
+    private double likeWeight;
+
+    @Value("${feed.rank.comment-weight}")
+    private double commentWeight;
+
+    @Value("${feed.rank.affinity-weight}")
+    private double affinityWeight;
+
+    @Override
+    public double score(FeedCandidate candidate, LocalDateTime now) {
+        double engagement = 1.0
+                + likeWeight * Math.log1p(candidate.getLikeCount())
+                + commentWeight * Math.log1p(candidate.getCommentCount())
+                + affinityWeight * Math.log1p(candidate.getAuthorAffinity());
+        if (candidate.getCreatedAt() == null) {
+            return 0;
+        }
+        double ageHours = Math.max(0, Duration.between(candidate.getCreatedAt(), now).toMinutes() / 60.0);
+        return engagement * Math.pow(0.5, ageHours / halfLifeHours);
+    }
+}
@@ -0,0 +1,56 @@
+package com.skillconnect.server.feed;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k highest-scoring items seen so far in a min-heap, so memory stays O(k)
+ * however many items are offered.
+ */
+public class TopKSelector<T> {
+
+    private final int k;
+    private final PriorityQueue<Scored<T>> heap;
+
+    public TopKSelector(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.heap = new PriorityQueue<>(k);
+    }
+
+    public void offer(T item, double score) {
+        if (heap.size() < k) {
+            heap.add(new Scored<>(item, score));
+        } else if (score > heap.peek().score) {
+            heap.poll();
+            heap.add(new Scored<>(item, score));
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns the retained items ordered from highest to lowest score and empties the selector.
+     */
+    public List<T> drainDescending() {
+        List<T> items = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            items.add(heap.poll().item);
+        }
+        Collections.reverse(items);
+        return items;
+    }
+
+    private record Scored<T>(T item, double score) implements Comparable<Scored<T>> {
+        @Override
+        public int compareTo(Scored<T> other) {
+            return Double.compare(score, other.score);
+        }
+    }
+}
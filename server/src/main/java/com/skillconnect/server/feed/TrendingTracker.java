@@ -0,0 +1,109 @@
+package com.skillconnect.server.feed;
+
+import com.skillconnect.server.util.TransactionHooks;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an exponentially decayed engagement score for recent posts, updated as likes and comments
+ * arrive instead of by scanning the Likes and Comments tables. A scheduled refresh drops posts that
+ * fell out of the window, caps the number of tracked posts, and publishes the top posts as a
+ * snapshot so reads only copy a short list.
+ */
+@Log4j2
+@Component
+public class TrendingTracker {
+
+    @Value("${posts.trending.window-hours}")
+    private long windowHours;
+
+    @Value("${posts.trending.half-life-hours}")
+    private double halfLifeHours;
+
+    @Value("${posts.trending.like-weight}")
+    private double likeWeight;
+
+    @Value("${posts.trending.comment-weight}")
+    private double commentWeight;
+
+    @Value("${posts.trending.max-tracked}")
+    private int maxTracked;
+
+    @Value("${posts.trending.top-size}")
+    private int topSize;
+
+    private final Map<Integer, Score> scores = new ConcurrentHashMap<>();
+    private volatile List<Integer> top = List.of();
+
+    public void recordLike(int postId, LocalDateTime postCreatedAt, int delta) {
+        TransactionHooks.afterCommit(() -> record(postId, postCreatedAt, likeWeight * delta));
+    }
+
+    public void recordComment(int postId, LocalDateTime postCreatedAt, int delta) {
+        TransactionHooks.afterCommit(() -> record(postId, postCreatedAt, commentWeight * delta));
+    }
+
+    public void removePost(int postId) {
+        TransactionHooks.afterCommit(() -> scores.remove(postId));
+    }
+
+    /**
+     * Returns up to {@code limit} post IDs from the latest snapshot, hottest first.
+     */
+    public List<Integer> top(int limit) {
+        List<Integer> snapshot = top;
+        return snapshot.subList(0, Math.min(limit, snapshot.size()));
+    }
+
+    public int trackedPosts() {
+        return scores.size();
+    }
+
+    @Scheduled(fixedDelayString = "${posts.trending.refresh-interval-ms}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(windowHours);
+        scores.values().removeIf(score -> score.postCreatedAt.isBefore(cutoff));
+
+        // Keep the maxTracked hottest posts; the top snapshot is the head of the same ranking
+        TopKSelector<Integer> selector = new TopKSelector<>(Math.max(maxTracked, topSize));
+        scores.forEach((postId, score) -> selector.offer(postId, score.valueAt(now, halfLifeHours)));
+        List<Integer> ranked = selector.drainDescending();
+        if (scores.size() > ranked.size()) {
+            scores.keySet().retainAll(new HashSet<>(ranked));
+        }
+
+        top = List.copyOf(ranked.subList(0, Math.min(topSize, ranked.size())));
+        log.debug("Refreshed trending posts: {} tracked, {} in snapshot", scores.size(), top.size());
+    }
+
+    // postCreatedAt may be null when the caller did not load the post; only tracked posts are adjusted then
+    private void record(int postId, LocalDateTime postCreatedAt, double weight) {
+        long now = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(windowHours);
+        scores.compute(postId, (id, score) -> {
+            if (score == null) {
+                boolean recent = postCreatedAt != null && !postCreatedAt.isBefore(cutoff);
+                return recent && weight > 0 ? new Score(postCreatedAt, weight, now) : null;
+            }
+            double value = score.valueAt(now, halfLifeHours) + weight;
+            return value > 0 ? new Score(score.postCreatedAt, value, now) : null;
+        });
+    }
+
+    private record Score(LocalDateTime postCreatedAt, double value, long updatedAt) {
+
+        double valueAt(long now, double halfLifeHours) {
+            double ageHours = (now - updatedAt) / 3_600_000.0;
+            return value * Math.pow(0.5, ageHours / halfLifeHours);
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.skillconnect.server.graph;
+
+import com.skillconnect.server.repository.FollowRepository;
+import com.skillconnect.server.util.TransactionHooks;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the Follows table. Each direction is stored in compressed sparse row form:
+ * {@code offsets[u]..offsets[u + 1]} delimits u's sorted neighbors in {@code targets}. Writes since
+ * the last compaction live in small sorted overlays of packed (source, target) edges, and the whole
+ * state is an immutable snapshot swapped on every write, so reads never lock.
+ */
+@Log4j2
+@Component
+public class FollowGraph {
+
+    private final FollowRepository followRepository;
+
+    @Value("${follows.graph.compact-threshold}")
+    private int compactThreshold;
+
+    private volatile Snapshot snapshot = new Snapshot(Adjacency.EMPTY, Adjacency.EMPTY);
+    private volatile boolean ready;
+
+    // Writes committed while a load is running, replayed in order once it finishes; guarded by this
+    private final List<long[]> pendingWrites = new ArrayList<>();
+    private boolean loading;
+
+    @Autowired
+    public FollowGraph(FollowRepository followRepository) {
+        this.followRepository = followRepository;
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        load();
+    }
+
+    // A failed load leaves the graph unready, and callers fall back to queries until a retry succeeds
+    @Transactional(readOnly = true)
+    @Scheduled(initialDelayString = "${follows.graph.retry-interval-ms}", fixedDelayString = "${follows.graph.retry-interval-ms}")
+    public void retryLoad() {
+        if (!ready) {
+            load();
+        }
+    }
+
+    private void load() {
+        synchronized (this) {
+            if (loading || ready) {
+                return;
+            }
+            loading = true;
+            pendingWrites.clear();
+        }
+        try {
+            loadEdges();
+        } catch (RuntimeException e) {
+            // Writes made until the next attempt are in the table it reads, so nothing needs buffering
+            synchronized (this) {
+                loading = false;
+                pendingWrites.clear();
+            }
+            log.error("Could not load follow graph, retrying in the background", e);
+        }
+    }
+
+    private void loadEdges() {
+        log.info("Loading follow graph");
+        long start = System.currentTimeMillis();
+        IntPairs edges = new IntPairs();
+        try (Stream<Object[]> follows = followRepository.streamEdges()) {
+            follows.forEach(row -> {
+                int followerId = (Integer) row[0];
+                int followedId = (Integer) row[1];
+                if (Adjacency.inRange(followerId) && Adjacency.inRange(followedId)) {
+                    edges.add(followerId, followedId);
+                }
+            });
+        }
+
+        synchronized (this) {
+            Snapshot loaded = new Snapshot(
+                    Adjacency.build(edges.sources, edges.targets, edges.size),
+                    Adjacency.build(edges.targets, edges.sources, edges.size));
+            for (long[] write : pendingWrites) {
+                loaded = write[0] > 0 ? loaded.withEdge((int) write[1], (int) write[2]) : loaded.withoutEdge((int) write[1], (int) write[2]);
+            }
+            pendingWrites.clear();
+            snapshot = loaded;
+            ready = true;
+            loading = false;
+        }
+        log.info("Follow graph loaded with {} edges in {} ms", edges.size, System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void followAfterCommit(int followerId, int followedId) {
+        TransactionHooks.afterCommit(() -> addEdge(followerId, followedId));
+    }
+
+    public void unfollowAfterCommit(int followerId, int followedId) {
+        TransactionHooks.afterCommit(() -> removeEdge(followerId, followedId));
+    }
+
+    public boolean isFollowing(int followerId, int followedId) {
+        return snapshot.following.contains(followerId, followedId);
+    }
+
+    public int followerCount(int userId) {
+        return snapshot.followers.degree(userId);
+    }
+
+    public int followingCount(int userId) {
+        return snapshot.following.degree(userId);
+    }
+
+    /**
+     * Returns the IDs of the user's followers in ascending order.
+     */
+    public int[] followers(int userId) {
+        return snapshot.followers.neighbors(userId);
+    }
+
+    /**
+     * Returns the IDs of the users this user follows in ascending order.
+     */
+    public int[] following(int userId) {
+        return snapshot.following.neighbors(userId);
+    }
+
+    private synchronized void addEdge(int followerId, int followedId) {
+        if (!ready) {
+            if (loading) {
+                pendingWrites.add(new long[]{1, followerId, followedId});
+            }
+            return;
+        }
+        snapshot = compactIfNeeded(snapshot.withEdge(followerId, followedId));
+    }
+
+    private synchronized void removeEdge(int followerId, int followedId) {
+        if (!ready) {
+            if (loading) {
+                pendingWrites.add(new long[]{-1, followerId, followedId});
+            }
+            return;
+        }
+        snapshot = compactIfNeeded(snapshot.withoutEdge(followerId, followedId));
+    }
+
+    private Snapshot compactIfNeeded(Snapshot current) {
+        if (current.following.overlaySize() < compactThreshold) {
+            return current;
+        }
+        log.debug("Compacting follow graph overlay of {} edges", current.following.overlaySize());
+        return new Snapshot(current.following.compact(), current.followers.compact());
+    }
+
+    private record Snapshot(Adjacency following, Adjacency followers) {
+
+        Snapshot withEdge(int followerId, int followedId) {
+            return new Snapshot(following.withEdge(followerId, followedId), followers.withEdge(followedId, followerId));
+        }
+
+        Snapshot withoutEdge(int followerId, int followedId) {
+            return new Snapshot(following.withoutEdge(followerId, followedId), followers.withoutEdge(followedId, followerId));
+        }
+    }
+
+    /**
+     * One direction of the graph. {@code added} holds edges missing from the CSR base and
+     * {@code removed} holds base edges that were deleted; both are sorted packed edges.
+     */
+    static final class Adjacency {
+
+        static final Adjacency EMPTY = new Adjacency(new int[1], new int[0], new long[0], new long[0]);
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final long[] added;
+        private final long[] removed;
+
+        Adjacency(int[] offsets, int[] targets, long[] added, long[] removed) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        // IDs outside this range would index offsets negatively, overflow source + 1 or break the
+        // ordering of packed edges, so reads treat them as absent and writes ignore them
+        static boolean inRange(int id) {
+            return id >= 0 && id < Integer.MAX_VALUE;
+        }
+
+        static Adjacency build(int[] sources, int[] targets, int size) {
+            int maxSource = -1;
+            for (int i = 0; i < size; i++) {
+                maxSource = Math.max(maxSource, sources[i]);
+            }
+            int[] offsets = new int[maxSource + 2];
+            for (int i = 0; i < size; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int node = 0; node <= maxSource; node++) {
+                offsets[node + 1] += offsets[node];
+            }
+            int[] next = Arrays.copyOf(offsets, offsets.length);
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                rows[next[sources[i]]++] = targets[i];
+            }
+            // Sorts each row and drops duplicate Follows rows in place, so every edge is stored once
+            int write = 0;
+            int from = 0;
+            for (int node = 0; node <= maxSource; node++) {
+                int to = offsets[node + 1];
+                Arrays.sort(rows, from, to);
+                int rowStart = write;
+                for (int i = from; i < to; i++) {
+                    if (write == rowStart || rows[write - 1] != rows[i]) {
+                        rows[write++] = rows[i];
+                    }
+                }
+                offsets[node + 1] = write;
+                from = to;
+            }
+            return new Adjacency(offsets, write == size ? rows : Arrays.copyOf(rows, write), new long[0], new long[0]);
+        }
+
+        boolean contains(int source, int target) {
+            if (!inRange(source) || !inRange(target)) {
+                return false;
+            }
+            long edge = pack(source, target);
+            if (Arrays.binarySearch(added, edge) >= 0) {
+                return true;
+            }
+            return inBase(source, target) && Arrays.binarySearch(removed, edge) < 0;
+        }
+
+        int degree(int source) {
+            if (!inRange(source)) {
+                return 0;
+            }
+            return baseDegree(source) + rangeSize(added, source) - rangeSize(removed, source);
+        }
+
+        int[] neighbors(int source) {
+            if (!inRange(source)) {
+                return new int[0];
+            }
+            int from = source < offsets.length - 1 ? offsets[source] : 0;
+            int to = source < offsets.length - 1 ? offsets[source + 1] : 0;
+            int addedFrom = rangeStart(added, source);
+            int addedTo = rangeStart(added, source + 1);
+            int removedFrom = rangeStart(removed, source);
+            int removedTo = rangeStart(removed, source + 1);
+
+            int[] result = new int[(to - from) + (addedTo - addedFrom) - (removedTo - removedFrom)];
+            int count = 0;
+            int a = addedFrom;
+            int r = removedFrom;
+            for (int i = from; i < to; i++) {
+                int target = targets[i];
+                while (a < addedTo && (int) added[a] < target) {
+                    result[count++] = (int) added[a++];
+                }
+                while (r < removedTo && (int) removed[r] < target) {
+                    r++;
+                }
+                if (r < removedTo && (int) removed[r] == target) {
+                    r++;
+                    continue;
+                }
+                result[count++] = target;
+            }
+            while (a < addedTo) {
+                result[count++] = (int) added[a++];
+            }
+            return result;
+        }
+
+        int overlaySize() {
+            return added.length + removed.length;
+        }
+
+        Adjacency withEdge(int source, int target) {
+            if (!inRange(source) || !inRange(target)) {
+                return this;
+            }
+            long edge = pack(source, target);
+            if (inBase(source, target)) {
+                return Arrays.binarySearch(removed, edge) >= 0
+                        ? new Adjacency(offsets, targets, added, without(removed, edge))
+                        : this;
+            }
+            return Arrays.binarySearch(added, edge) >= 0
+                    ? this
+                    : new Adjacency(offsets, targets, with(added, edge), removed);
+        }
+
+        Adjacency withoutEdge(int source, int target) {
+            if (!inRange(source) || !inRange(target)) {
+                return this;
+            }
+            long edge = pack(source, target);
+            if (inBase(source, target)) {
+                return Arrays.binarySearch(removed, edge) >= 0
+                        ? this
+                        : new Adjacency(offsets, targets, added, with(removed, edge));
+            }
+            return Arrays.binarySearch(added, edge) >= 0
+                    ? new Adjacency(offsets, targets, without(added, edge), removed)
+                    : this;
+        }
+
+        // Folds the overlay into a fresh CSR base
+        Adjacency compact() {
+            int nodes = offsets.length - 1;
+            if (added.length > 0) {
+                nodes = Math.max(nodes, (int) (added[added.length - 1] >>> 32) + 1);
+            }
+            int[] newOffsets = new int[nodes + 1];
+            int[] newTargets = new int[targets.length + added.length - removed.length];
+            int count = 0;
+            for (int node = 0; node < nodes; node++) {
+                int[] row = neighbors(node);
+                System.arraycopy(row, 0, newTargets, count, row.length);
+                count += row.length;
+                newOffsets[node + 1] = count;
+            }
+            return new Adjacency(newOffsets, newTargets, new long[0], new long[0]);
+        }
+
+        private boolean inBase(int source, int target) {
+            if (source >= offsets.length - 1) {
+                return false;
+            }
+            return Arrays.binarySearch(targets, offsets[source], offsets[source + 1], target) >= 0;
+        }
+
+        private int baseDegree(int source) {
+            return source < offsets.length - 1 ? offsets[source + 1] - offsets[source] : 0;
+        }
+
+        private static int rangeSize(long[] edges, int source) {
+            return rangeStart(edges, source + 1) - rangeStart(edges, source);
+        }
+
+        // Index of the first packed edge whose source is >= the given source
+        private static int rangeStart(long[] edges, int source) {
+            int index = Arrays.binarySearch(edges, pack(source, 0) - 1);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        private static long pack(int source, int target) {
+            return ((long) source << 32) | (target & 0xffffffffL);
+        }
+
+        private static long[] with(long[] edges, long edge) {
+            int index = -Arrays.binarySearch(edges, edge) - 1;
+            long[] result = new long[edges.length + 1];
+            System.arraycopy(edges, 0, result, 0, index);
+            result[index] = edge;
+            System.arraycopy(edges, index, result, index + 1, edges.length - index);
+            return result;
+        }
+
+        private static long[] without(long[] edges, long edge) {
+            int index = Arrays.binarySearch(edges, edge);
+            long[] result = new long[edges.length - 1];
+            System.arraycopy(edges, 0, result, 0, index);
+            System.arraycopy(edges, index + 1, result, index, edges.length - index - 1);
+            return result;
+        }
+    }
+
+    // Growable pair of int columns, so loading does not box every edge
+    private static final class IntPairs {
+        private int[] sources = new int[1024];
+        private int[] targets = new int[1024];
+        private int size;
+
+        void add(int source, int target) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.skillconnect.server.graph;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds second-degree connections in the follow graph: users followed by the people a user follows,
+ * with the number of those people leading to each one. Candidates are gathered into one int array
+ * and counted by sorting, so no per-candidate objects are created; large neighborhoods are gathered
+ * and sorted in parallel on a dedicated fork/join pool.
+ */
+@Log4j2
+@Component
+public class FollowSuggester {
+
+    // Followees whose neighbor lists one fork/join leaf concatenates
+    private static final int LEAF_SIZE = 64;
+
+    private final FollowGraph followGraph;
+    private final ForkJoinPool pool;
+
+    @Value("${follows.suggestions.parallel-threshold}")
+    private int parallelThreshold;
+
+    @Autowired
+    public FollowSuggester(FollowGraph followGraph, @Value("${follows.suggestions.parallelism}") int parallelism) {
+        this.followGraph = followGraph;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public boolean isReady() {
+        return followGraph.isReady();
+    }
+
+    public SecondDegree secondDegree(int userId) {
+        int[] following = followGraph.following(userId);
+        long neighborhood = 0;
+        for (int followee : following) {
+            neighborhood += followGraph.followingCount(followee);
+        }
+
+        if (neighborhood < parallelThreshold) {
+            int[] candidates = new Gather(following, 0, following.length).compute();
+            Arrays.sort(candidates);
+            return count(userId, following, candidates);
+        }
+        log.debug("Counting {} second-degree edges of user ID {} in parallel", neighborhood, userId);
+        return pool.submit(() -> {
+            int[] candidates = new Gather(following, 0, following.length).invoke();
+            Arrays.parallelSort(candidates);
+            return count(userId, following, candidates);
+        }).join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Run-length counts over the sorted candidates, skipping the user and users already followed
+    private static SecondDegree count(int userId, int[] following, int[] sorted) {
+        int[] userIds = new int[sorted.length];
+        int[] mutualCounts = new int[sorted.length];
+        int size = 0;
+        int i = 0;
+        while (i < sorted.length) {
+            int candidate = sorted[i];
+            int run = i;
+            while (i < sorted.length && sorted[i] == candidate) {
+                i++;
+            }
+            if (candidate != userId && Arrays.binarySearch(following, candidate) < 0) {
+                userIds[size] = candidate;
+                mutualCounts[size] = i - run;
+                size++;
+            }
+        }
+        return new SecondDegree(Arrays.copyOf(userIds, size), Arrays.copyOf(mutualCounts, size));
+    }
+
+    /**
+     * Candidate user IDs and, at the same index, how many of the user's followees follow them.
+     */
+    public record SecondDegree(int[] userIds, int[] mutualCounts) {
+    }
+
+    private final class Gather extends RecursiveTask<int[]> {
+
+        private final int[] followees;
+        private final int from;
+        private final int to;
+
+        private Gather(int[] followees, int from, int to) {
+            this.followees = followees;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                int[][] rows = new int[to - from][];
+                int total = 0;
+                for (int i = from; i < to; i++) {
+                    rows[i - from] = followGraph.following(followees[i]);
+                    total += rows[i - from].length;
+                }
+                return concat(rows, total);
+            }
+            int middle = (from + to) >>> 1;
+            Gather left = new Gather(followees, from, middle);
+            left.fork();
+            int[] right = new Gather(followees, middle, to).compute();
+            int[] leftResult = left.join();
+            return concat(new int[][]{leftResult, right}, leftResult.length + right.length);
+        }
+
+        private int[] concat(int[][] rows, int total) {
+            int[] result = new int[total];
+            int offset = 0;
+            for (int[] row : rows) {
+                System.arraycopy(row, 0, result, offset, row.length);
+                offset += row.length;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.skillconnect.server.index;
+
+import com.skillconnect.server.repository.LikeRepository;
+import com.skillconnect.server.util.TransactionHooks;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the Likes table: for every post, a compressed bitmap of the users who liked it.
+ * Answers "which of these posts has the viewer liked" and exact like counts without a query.
+ * Built from the database at startup and kept in sync by the like service after each commit.
+ * Writes that commit while the index is being built are buffered and replayed on top of the scan,
+ * so a like or unlike racing the rebuild is neither lost nor undone.
+ */
+@Log4j2
+@Component
+public class LikeIndex {
+
+    private final LikeRepository likeRepository;
+
+    private static final int ADD = 1;
+    private static final int REMOVE = -1;
+    private static final int REMOVE_POST = 0;
+
+    private volatile Map<Integer, IntBitmap> likersByPost = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Writes committed while a rebuild is scanning, as {op, postId, userId}; guarded by this
+    private final List<int[]> pendingWrites = new ArrayList<>();
+    private boolean loading;
+
+    @Autowired
+    public LikeIndex(LikeRepository likeRepository) {
+        this.likeRepository = likeRepository;
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            if (loading) {
+                return;
+            }
+            loading = true;
+            pendingWrites.clear();
+        }
+        try {
+            build();
+        } catch (RuntimeException e) {
+            // Nothing buffered is needed by the next attempt, which reads those writes from the table
+            synchronized (this) {
+                loading = false;
+                pendingWrites.clear();
+            }
+            log.error("Could not build like index, retrying in the background", e);
+        }
+    }
+
+    // Until a build succeeds the index stays unready and callers query the Likes table
+    @Transactional(readOnly = true)
+    @Scheduled(initialDelayString = "${likes.index.retry-interval-ms}", fixedDelayString = "${likes.index.retry-interval-ms}")
+    public void retryBuild() {
+        if (!ready) {
+            rebuild();
+        }
+    }
+
+    private void build() {
+        log.info("Rebuilding like index");
+        long start = System.currentTimeMillis();
+        Map<Integer, IntBitmap> built = new ConcurrentHashMap<>();
+        long[] rows = {0};
+        try (Stream<Object[]> likes = likeRepository.streamPostAndUserIds()) {
+            likes.forEach(row -> {
+                apply(built, ADD, (Integer) row[0], (Integer) row[1]);
+                rows[0]++;
+            });
+        }
+        int replayed;
+        synchronized (this) {
+            // The scan may miss writes that committed after it started, or re-add likes removed meanwhile
+            for (int[] write : pendingWrites) {
+                apply(built, write[0], write[1], write[2]);
+            }
+            replayed = pendingWrites.size();
+            pendingWrites.clear();
+            likersByPost = built;
+            loading = false;
+        }
+        ready = true;
+        log.info("Like index built with {} likes on {} posts in {} ms, replayed {} concurrent writes",
+                rows[0], built.size(), System.currentTimeMillis() - start, replayed);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void addAfterCommit(int postId, int userId) {
+        TransactionHooks.afterCommit(() -> write(ADD, postId, userId));
+    }
+
+    public void removeAfterCommit(int postId, int userId) {
+        TransactionHooks.afterCommit(() -> write(REMOVE, postId, userId));
+    }
+
+    public void removePostAfterCommit(int postId) {
+        TransactionHooks.afterCommit(() -> write(REMOVE_POST, postId, 0));
+    }
+
+    public boolean hasLiked(int userId, int postId) {
+        IntBitmap likers = likersByPost.get(postId);
+        if (likers == null) {
+            return false;
+        }
+        synchronized (likers) {
+            return likers.contains(userId);
+        }
+    }
+
+    /**
+     * Returns the subset of the given posts that the user has liked.
+     */
+    public Set<Integer> likedAmong(int userId, Collection<Integer> postIds) {
+        Set<Integer> liked = new HashSet<>();
+        for (Integer postId : postIds) {
+            if (hasLiked(userId, postId)) {
+                liked.add(postId);
+            }
+        }
+        return liked;
+    }
+
+    public long count(int postId) {
+        IntBitmap likers = likersByPost.get(postId);
+        if (likers == null) {
+            return 0;
+        }
+        synchronized (likers) {
+            return likers.cardinality();
+        }
+    }
+
+    private void write(int op, int postId, int userId) {
+        synchronized (this) {
+            if (loading) {
+                pendingWrites.add(new int[]{op, postId, userId});
+                return;
+            }
+        }
+        apply(likersByPost, op, postId, userId);
+    }
+
+    private static void apply(Map<Integer, IntBitmap> index, int op, int postId, int userId) {
+        switch (op) {
+            // Add and remove both run inside the map's bin lock, so a remove that empties and drops a
+            // bitmap can never leave a concurrent add writing into the dropped one; readers lock the bitmap
+            case ADD -> index.compute(postId, (id, likers) -> {
+                IntBitmap updated = likers == null ? new IntBitmap() : likers;
+                synchronized (updated) {
+                    updated.add(userId);
+                }
+                return updated;
+            });
+            case REMOVE -> index.computeIfPresent(postId, (id, likers) -> {
+                synchronized (likers) {
+                    likers.remove(userId);
+                    return likers.isEmpty() ? null : likers;
+                }
+            });
+            default -> index.remove(postId);
+        }
+    }
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Comments")
+@Table(name = "Comments", indexes = {
+        @Index(name = "idx_comments_post_parent_created", columnList = "post_id, parent_comment_id, created_at, comment_id"),
+        @Index(name = "idx_comments_parent_created", columnList = "parent_comment_id, created_at, comment_id")
+})
 public class Comment {
 
     @Id
@@ -27,6 +30,10 @@ public class Comment {
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
 
+    // Null for top-level comments; replies always point at a top-level comment
+    @Column(name = "parent_comment_id")
+    private Integer parentCommentId;
+
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
 
@@ -36,6 +43,9 @@ public class Comment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Transient
+    private long replyCount;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Follows")
+@Table(name = "Follows", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"follower_id", "user_id"})
+})
 public class Follow {
 
     @Id
@@ -11,9 +11,21 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Notifications")
+@Table(name = "Notifications", indexes = {
+        @Index(name = "idx_notifications_aggregate", columnList = "user_id, verb, target_id, is_read, created_at")
+})
 public class Notification {
+
+    public static final String VERB_LIKE = "LIKE";
+    public static final String VERB_COMMENT = "COMMENT";
+    public static final String VERB_FOLLOW = "FOLLOW";
+
+    public static final String TARGET_POST = "POST";
+    public static final String TARGET_USER = "USER";
     
+    // Unique on its own. db/partition-notifications.sql makes the table's primary key
+    // (notification_id, created_at); ddl-auto only creates this single-column key, so a fresh
+    // database stays unpartitioned until the script is run
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "notification_id")
@@ -23,18 +35,45 @@ public class Notification {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    // Free text; null for structured notifications, which are rendered when read
+    @Column(name = "content", columnDefinition = "TEXT")
     private String content;
     
     @Column(name = "is_read", nullable = false)
     private Boolean isRead = false;
     
-    @Column(name = "created_at", updatable = false)
+    // Partition key of the monthly Notifications partitions
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    // Time of the latest event folded into this notification
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "verb")
+    private String verb;
+
+    @Column(name = "target_type")
+    private String targetType;
+
+    @Column(name = "target_id")
+    private Integer targetId;
+
+    // Latest actor folded into this notification
+    @Column(name = "actor_id")
+    private Integer actorId;
+
+    @Column(name = "actor_count", columnDefinition = "integer default 1")
+    private Integer actorCount = 1;
+
+    // Comma-separated, newest first, capped at notifications.aggregation.max-latest-actors
+    @Column(name = "latest_actor_ids")
+    private String latestActorIds;
     
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
     }
 
     public Notification(User user, String content) {
@@ -0,0 +1,21 @@
+package com.skillconnect.server.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "NotificationCounters")
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
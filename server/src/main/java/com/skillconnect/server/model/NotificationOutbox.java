@@ -0,0 +1,64 @@
+package com.skillconnect.server.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to be delivered. Rows are appended in the transaction of the action that
+ * caused them and turned into Notifications by the background dispatcher, which may fold several
+ * of them into one aggregated row. A row that keeps failing is retried up to
+ * notifications.outbox.max-attempts times and then left in place with its last error.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "NotificationOutbox")
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private long outboxId;
+
+    @Column(name = "recipient_id", nullable = false)
+    private int recipientId;
+
+    @Column(name = "actor_id")
+    private Integer actorId;
+
+    @Column(name = "verb", nullable = false)
+    private String verb;
+
+    @Column(name = "target_type")
+    private String targetType;
+
+    @Column(name = "target_id")
+    private Integer targetId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false, columnDefinition = "integer default 0")
+    private int attempts;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    public NotificationOutbox(int recipientId, Integer actorId, String verb, String targetType, Integer targetId) {
+        this.recipientId = recipientId;
+        this.actorId = actorId;
+        this.verb = verb;
+        this.targetType = targetType;
+        this.targetId = targetId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Posts")
+@Table(name = "Posts", indexes = {
+        @Index(name = "idx_posts_user_created", columnList = "user_id, created_at")
+})
 public class Post {
 
     @Id
@@ -45,6 +47,13 @@ public class Post {
     @JoinColumn(name = "learning_update_id")
     private LearningUpdate learningUpdate;
 
+    // Filled in from PostCounters when the post is read, never persisted here
+    @Transient
+    private long likeCount;
+
+    @Transient
+    private long commentCount;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,46 @@
+package com.skillconnect.server.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "Timelines", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"owner_id", "post_id"})
+}, indexes = {
+        @Index(name = "idx_timelines_owner_created", columnList = "owner_id, created_at"),
+        @Index(name = "idx_timelines_post", columnList = "post_id")
+})
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "timeline_id")
+    private long timelineId;
+
+    @Column(name = "owner_id", nullable = false)
+    private int ownerId;
+
+    @Column(name = "post_id", nullable = false)
+    private int postId;
+
+    @Column(name = "author_id", nullable = false)
+    private int authorId;
+
+    // Copied from the post so the timeline head can be read without touching Posts
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public TimelineEntry(int ownerId, int postId, int authorId, LocalDateTime createdAt) {
+        this.ownerId = ownerId;
+        this.postId = postId;
+        this.authorId = authorId;
+        this.createdAt = createdAt;
+    }
+}
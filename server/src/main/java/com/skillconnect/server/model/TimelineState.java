@@ -0,0 +1,27 @@
+package com.skillconnect.server.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a user whose timeline has been seeded from their followees. Fan-out and backfill only
+ * write to timelines of such users; everyone else gets their feed assembled and seeded on first read.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "TimelineStates")
+public class TimelineState {
+
+    @Id
+    @Column(name = "owner_id")
+    private int ownerId;
+
+    @Column(name = "seeded_at", nullable = false)
+    private LocalDateTime seededAt;
+}
@@ -0,0 +1,109 @@
+package com.skillconnect.server.notification;
+
+import com.skillconnect.server.model.Notification;
+import com.skillconnect.server.repository.PostRepository;
+import com.skillconnect.server.repository.UserRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns structured notifications (actor, verb, target) into display text at read time. Actor names
+ * and post excerpts for a whole list are fetched with one query each, so stored rows never carry
+ * copies of names or post text.
+ */
+@Log4j2
+@Component
+public class NotificationRenderer {
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+
+    @Value("${notifications.render.excerpt-length}")
+    private int excerptLength;
+
+    public record Payload(String verb, String targetType, Integer targetId, Integer actorId, int actorCount) {
+    }
+
+    @Autowired
+    public NotificationRenderer(UserRepository userRepository, PostRepository postRepository) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Renders every payload, in order.
+     */
+    public List<String> render(List<Payload> payloads) {
+        if (payloads.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> actorIds = new HashSet<>();
+        Set<Integer> postIds = new HashSet<>();
+        for (Payload payload : payloads) {
+            if (payload.actorId() != null) {
+                actorIds.add(payload.actorId());
+            }
+            if (Notification.TARGET_POST.equals(payload.targetType()) && payload.targetId() != null) {
+                postIds.add(payload.targetId());
+            }
+        }
+
+        Map<Integer, String> names = new HashMap<>();
+        if (!actorIds.isEmpty()) {
+            for (Object[] row : userRepository.findNamesByIds(actorIds)) {
+                names.put((Integer) row[0], row[1] + " " + row[2]);
+            }
+        }
+        // One character more than shown, to tell whether the excerpt was cut
+        Map<Integer, String> excerpts = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            for (Object[] row : postRepository.findDescriptionExcerpts(postIds, excerptLength + 1)) {
+                excerpts.put((Integer) row[0], excerpt((String) row[1]));
+            }
+        }
+
+        List<String> contents = new ArrayList<>(payloads.size());
+        for (Payload payload : payloads) {
+            contents.add(render(payload, names.get(payload.actorId()), excerpts.get(payload.targetId())));
+        }
+        return contents;
+    }
+
+    private String render(Payload payload, String actorName, String excerpt) {
+        StringBuilder content = new StringBuilder(actorName == null ? "Someone" : actorName);
+        if (payload.actorCount() == 2) {
+            content.append(" and 1 other");
+        } else if (payload.actorCount() > 2) {
+            content.append(" and ").append(payload.actorCount() - 1).append(" others");
+        }
+        switch (payload.verb()) {
+            case Notification.VERB_LIKE -> content.append(" liked your post");
+            case Notification.VERB_COMMENT -> content.append(" commented on your post");
+            case Notification.VERB_FOLLOW -> content.append(" started following you");
+            default -> {
+                log.warn("No rendering for notification verb {}", payload.verb());
+                content.append(' ').append(payload.verb().toLowerCase());
+            }
+        }
+        if (excerpt != null && !excerpt.isBlank()) {
+            content.append(" : ").append(excerpt);
+        }
+        return content.toString();
+    }
+
+    private String excerpt(String description) {
+        if (description == null || description.length() <= excerptLength) {
+            return description;
+        }
+        return description.substring(0, excerptLength) + "...";
+    }
+}
@@ -0,0 +1,79 @@
+package com.skillconnect.server.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillconnect.server.dto.CommentEvent;
+import com.skillconnect.server.dto.CommentPushDTO;
+import com.skillconnect.server.model.Comment;
+import com.skillconnect.server.util.TransactionHooks;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * Live comment updates per post. Events are serialized once inside the writing transaction
+ * and broadcast only after it commits.
+ */
+@Log4j2
+@Component
+public class CommentStream {
+
+    private final ObjectMapper objectMapper;
+    private final SseBroadcaster<Integer> broadcaster;
+
+    @Autowired
+    public CommentStream(ObjectMapper objectMapper, @Qualifier("commentBroadcaster") SseBroadcaster<Integer> broadcaster) {
+        this.objectMapper = objectMapper;
+        this.broadcaster = broadcaster;
+    }
+
+    public SseEmitter subscribe(int postId) {
+        return broadcaster.subscribe(postId);
+    }
+
+    public void publish(CommentEvent.Type type, Comment comment) {
+        publish(new CommentEvent(
+                type,
+                comment.getPost().getPostId(),
+                comment.getCommentId(),
+                comment.getParentCommentId(),
+                type == CommentEvent.Type.DELETED ? null : toPush(comment)));
+    }
+
+    // For comments removed in bulk, which are never loaded as entities
+    public void publishDeleted(int postId, int commentId, Integer parentCommentId) {
+        publish(new CommentEvent(CommentEvent.Type.DELETED, postId, commentId, parentCommentId, null));
+    }
+
+    private static CommentPushDTO toPush(Comment comment) {
+        return new CommentPushDTO(
+                comment.getCommentId(),
+                comment.getPost().getPostId(),
+                comment.getParentCommentId(),
+                comment.getUser().getUserId(),
+                comment.getUser().getFirstName() + " " + comment.getUser().getLastName(),
+                comment.getContent(),
+                comment.getCreatedAt(),
+                comment.getUpdatedAt());
+    }
+
+    private void publish(CommentEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} event for comment ID: {}", event.getType(), event.getCommentId(), e);
+            return;
+        }
+        String eventName = event.getType().name().toLowerCase();
+        TransactionHooks.afterCommit(() -> broadcaster.publish(event.getPostId(), eventName, data));
+    }
+
+    public Map<String, Long> stats() {
+        return broadcaster.stats();
+    }
+}
@@ -0,0 +1,61 @@
+package com.skillconnect.server.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillconnect.server.dto.NotificationPushDTO;
+import com.skillconnect.server.util.TransactionHooks;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * Pushes new notifications and unread-count changes to the recipient's open connections, after
+ * the transaction that produced them commits.
+ */
+@Log4j2
+@Component
+public class NotificationStream {
+
+    private final ObjectMapper objectMapper;
+    private final SseBroadcaster<Integer> broadcaster;
+
+    @Autowired
+    public NotificationStream(ObjectMapper objectMapper, @Qualifier("notificationBroadcaster") SseBroadcaster<Integer> broadcaster) {
+        this.objectMapper = objectMapper;
+        this.broadcaster = broadcaster;
+    }
+
+    public SseEmitter subscribe(int userId) {
+        return broadcaster.subscribe(userId);
+    }
+
+    /**
+     * Lets callers skip work, such as counting unread rows, for users with no open connection.
+     */
+    public boolean isConnected(int userId) {
+        return broadcaster.hasSubscribers(userId);
+    }
+
+    public void publishNotification(int userId, NotificationPushDTO notification) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize notification ID: {}", notification.getNotificationId(), e);
+            return;
+        }
+        TransactionHooks.afterCommit(() -> broadcaster.publish(userId, "notification", data));
+    }
+
+    public void publishUnreadCount(int userId, long unreadCount) {
+        TransactionHooks.afterCommit(() -> broadcaster.publish(userId, "unread-count", Long.toString(unreadCount)));
+    }
+
+    public Map<String, Long> stats() {
+        return broadcaster.stats();
+    }
+}
@@ -0,0 +1,46 @@
+package com.skillconnect.server.realtime;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * One broadcaster per stream, configured from the stream's property prefix: shards, buffer-size,
+ * timeout-ms, heartbeat-ms, send-timeout-ms and threads.
+ */
+@Configuration
+public class RealtimeConfig {
+
+    private final Environment environment;
+    private final TaskScheduler taskScheduler;
+
+    public RealtimeConfig(Environment environment, TaskScheduler taskScheduler) {
+        this.environment = environment;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Bean
+    public SseBroadcaster<Integer> notificationBroadcaster() {
+        return broadcaster("notification", "notifications.stream");
+    }
+
+    @Bean
+    public SseBroadcaster<Integer> commentBroadcaster() {
+        return broadcaster("comment", "comments.stream");
+    }
+
+    // Closed through the inferred shutdown() destroy method
+    private <K> SseBroadcaster<K> broadcaster(String name, String prefix) {
+        SseBroadcaster<K> broadcaster = new SseBroadcaster<>(
+                name,
+                environment.getRequiredProperty(prefix + ".shards", Integer.class),
+                environment.getRequiredProperty(prefix + ".buffer-size", Integer.class),
+                environment.getRequiredProperty(prefix + ".timeout-ms", Long.class),
+                environment.getRequiredProperty(prefix + ".heartbeat-ms", Long.class),
+                environment.getRequiredProperty(prefix + ".send-timeout-ms", Long.class),
+                environment.getRequiredProperty(prefix + ".threads", Integer.class));
+        broadcaster.start(taskScheduler);
+        return broadcaster;
+    }
+}
@@ -0,0 +1,303 @@
+package com.skillconnect.server.realtime;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans events for a key out to every Server-Sent Events subscriber of that key.
+ * Publishing never blocks on a connection: each subscriber has a bounded buffer drained by a
+ * shared executor, and a subscriber whose buffer fills up is disconnected rather than slowing
+ * down everyone else. Clients are expected to reconnect and refetch when that happens.
+ * <p>
+ * The registry is split into independent shards by key, and an idle subscriber holds no buffer
+ * storage, so a node can keep many mostly-idle connections cheaply.
+ * <p>
+ * Writes to a connection block, so a send that takes longer than the send timeout is aborted by
+ * {@link #reapStalledSends()} and its subscriber dropped; a few stalled clients cannot hold the
+ * drain threads for everyone else.
+ * <p>
+ * Each broadcaster owns its drain threads, and once {@link #start(TaskScheduler)} is called it
+ * sends heartbeats and reaps stalled sends on its own schedule until {@link #shutdown()}.
+ */
+@Log4j2
+public class SseBroadcaster<K> {
+
+    private final String name;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long heartbeatMs;
+    private final long sendTimeoutMs;
+    private final long sendTimeoutNanos;
+    private final ExecutorService executor;
+    private final List<ScheduledFuture<?>> maintenance = new ArrayList<>();
+
+    private final List<Map<K, Set<Subscriber>>> shards;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+
+    public SseBroadcaster(String name, int shardCount, int bufferSize, long timeoutMs, long heartbeatMs,
+                          long sendTimeoutMs, int threads) {
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.heartbeatMs = heartbeatMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Map<K, Set<Subscriber>>> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ConcurrentHashMap<>());
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * Schedules the heartbeat and, at the send timeout, the reaping of stalled sends.
+     */
+    public synchronized void start(TaskScheduler scheduler) {
+        maintenance.add(scheduler.scheduleWithFixedDelay(this::heartbeat, Duration.ofMillis(heartbeatMs)));
+        maintenance.add(scheduler.scheduleWithFixedDelay(this::reapStalledSends, Duration.ofMillis(sendTimeoutMs)));
+    }
+
+    public synchronized void shutdown() {
+        maintenance.forEach(task -> task.cancel(false));
+        maintenance.clear();
+        closeAll();
+        executor.shutdown();
+    }
+
+    public SseEmitter subscribe(K key) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(key, emitter);
+        shardOf(key).compute(key, (k, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        log.debug("New {} subscriber for key {}", name, key);
+        return emitter;
+    }
+
+    public boolean hasSubscribers(K key) {
+        return shardOf(key).containsKey(key);
+    }
+
+    public void publish(K key, String eventName, String data) {
+        Set<Subscriber> targets = shardOf(key).get(key);
+        if (targets == null) {
+            return;
+        }
+        published.increment();
+        Event event = new Event(eventName, data);
+        targets.forEach(subscriber -> enqueue(subscriber, event));
+    }
+
+    /**
+     * Sends a comment line to every subscriber so idle connections stay open through proxies
+     * and dead ones are noticed.
+     */
+    public void heartbeat() {
+        Event event = new Event(null, null);
+        for (Map<K, Set<Subscriber>> shard : shards) {
+            shard.values().forEach(set -> set.forEach(subscriber -> enqueue(subscriber, event)));
+        }
+    }
+
+    /**
+     * Drops every subscriber whose current send has been blocked for longer than the send timeout.
+     * Meant to be called periodically, at about the send timeout.
+     */
+    public void reapStalledSends() {
+        long now = System.nanoTime();
+        for (Map<K, Set<Subscriber>> shard : shards) {
+            shard.values().forEach(set -> set.forEach(subscriber -> {
+                long started = subscriber.sendStartedAt;
+                if (started != 0 && now - started > sendTimeoutNanos) {
+                    stalled.increment();
+                    log.info("Send to {} subscriber for key {} stalled, dropping it", name, subscriber.key);
+                    evict(subscriber);
+                }
+            }));
+        }
+    }
+
+    public void closeAll() {
+        for (Map<K, Set<Subscriber>> shard : shards) {
+            shard.values().forEach(set -> set.forEach(subscriber -> {
+                close(subscriber);
+                subscriber.abortSend();
+                complete(subscriber);
+            }));
+        }
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new HashMap<>();
+        long keys = 0;
+        long subscribers = 0;
+        for (Map<K, Set<Subscriber>> shard : shards) {
+            keys += shard.size();
+            subscribers += shard.values().stream().mapToLong(Set::size).sum();
+        }
+        stats.put("keys", keys);
+        stats.put("subscribers", subscribers);
+        stats.put("published", published.sum());
+        stats.put("delivered", delivered.sum());
+        stats.put("evicted", evicted.sum());
+        stats.put("stalled", stalled.sum());
+        return stats;
+    }
+
+    private void enqueue(Subscriber subscriber, Event event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (subscriber.buffered.incrementAndGet() > bufferSize) {
+            evict(subscriber);
+            return;
+        }
+        subscriber.buffer.offer(event);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    // At most one drain runs per subscriber, so sends to one connection stay ordered. The drain also
+    // completes evicted emitters, since completing waits for any send in progress on that emitter.
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Event event;
+            while (!subscriber.closed && (event = subscriber.buffer.poll()) != null) {
+                subscriber.buffered.decrementAndGet();
+                subscriber.beginSend();
+                try {
+                    subscriber.emitter.send(event.name == null
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().name(event.name).data(event.data));
+                    if (event.name != null) {
+                        delivered.increment();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping {} subscriber for key {}: {}", name, subscriber.key, e.getMessage());
+                    close(subscriber);
+                } finally {
+                    subscriber.endSend();
+                }
+            }
+            if (subscriber.closed) {
+                complete(subscriber);
+                return;
+            }
+            subscriber.draining.set(false);
+            // Re-checking closed covers an eviction that lost the race for the draining flag
+            if ((subscriber.buffer.isEmpty() && !subscriber.closed) || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    // Drops the subscriber without blocking the caller: a send in progress is interrupted and the
+    // emitter is completed by the drain
+    private void evict(Subscriber subscriber) {
+        if (subscriber.closed) {
+            return;
+        }
+        close(subscriber);
+        evicted.increment();
+        log.info("Evicted slow {} subscriber for key {}", name, subscriber.key);
+        subscriber.abortSend();
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void complete(Subscriber subscriber) {
+        try {
+            subscriber.emitter.complete();
+        } catch (RuntimeException e) {
+            log.debug("Could not complete {} subscriber for key {}: {}", name, subscriber.key, e.getMessage());
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.buffer.clear();
+        shardOf(subscriber.key).computeIfPresent(subscriber.key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private Map<K, Set<Subscriber>> shardOf(K key) {
+        return shards.get(Math.floorMod(key.hashCode(), shards.size()));
+    }
+
+    private record Event(String name, String data) {
+    }
+
+    private final class Subscriber {
+        private final K key;
+        private final SseEmitter emitter;
+        // Bounded through the buffered count instead of a preallocated array, so idle subscribers stay small
+        private final Queue<Event> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // Set while a send is in progress; guarded by this subscriber so an abort never reaches the next send
+        private Thread sendingThread;
+        private volatile long sendStartedAt;
+
+        private Subscriber(K key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        private synchronized void beginSend() {
+            sendingThread = Thread.currentThread();
+            sendStartedAt = System.nanoTime();
+        }
+
+        private synchronized void endSend() {
+            sendingThread = null;
+            sendStartedAt = 0;
+            // Clears an abort that arrived after the send had already finished
+            Thread.interrupted();
+        }
+
+        private synchronized void abortSend() {
+            if (sendingThread != null) {
+                sendingThread.interrupt();
+            }
+        }
+    }
+}
@@ -2,11 +2,20 @@ package com.skillconnect.server.repository;
 
 import com.skillconnect.server.model.AdminMessage;
 import com.skillconnect.server.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AdminMessageRepository extends JpaRepository<AdminMessage, Integer> {
     List<AdminMessage> findByAdmin_UserId(int userid);
     List<AdminMessage> findByAdminOrderByCreatedAtDesc(User admin);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select m from AdminMessage m left join fetch m.admin")
+    Stream<AdminMessage> streamAll();
 }
\ No newline at end of file
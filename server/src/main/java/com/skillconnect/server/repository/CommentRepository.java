@@ -2,12 +2,62 @@ package com.skillconnect.server.repository;
 
 import com.skillconnect.server.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
     List<Comment> findByPost_PostId(int postId);
     List<Comment> findByUser_UserId(int userId);
     void deleteByPost_PostId(int postId);
+
+    @Query("select c from Comment c join fetch c.user " +
+            "where c.post.postId = :postId and c.parentCommentId is null " +
+            "and c.createdAt is not null " +
+            "order by c.createdAt asc, c.commentId asc")
+    List<Comment> findTopLevelPage(@Param("postId") int postId, Pageable pageable);
+
+    // Keyset continuation of findTopLevelPage: everything strictly newer than (createdAt, commentId). As with
+    // the feed pages, rows without a createdAt are left out of both queries
+    @Query("select c from Comment c join fetch c.user " +
+            "where c.post.postId = :postId and c.parentCommentId is null " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.commentId > :commentId)) " +
+            "order by c.createdAt asc, c.commentId asc")
+    List<Comment> findTopLevelPageAfter(@Param("postId") int postId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("commentId") int commentId,
+                                        Pageable pageable);
+
+    @Query("select c from Comment c join fetch c.user " +
+            "where c.parentCommentId = :parentId " +
+            "and c.createdAt is not null " +
+            "order by c.createdAt asc, c.commentId asc")
+    List<Comment> findReplyPage(@Param("parentId") int parentId, Pageable pageable);
+
+    @Query("select c from Comment c join fetch c.user " +
+            "where c.parentCommentId = :parentId " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.commentId > :commentId)) " +
+            "order by c.createdAt asc, c.commentId asc")
+    List<Comment> findReplyPageAfter(@Param("parentId") int parentId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("commentId") int commentId,
+                                     Pageable pageable);
+
+    // Rows of [parentCommentId, replyCount]
+    @Query("select c.parentCommentId, count(c) from Comment c " +
+            "where c.parentCommentId in :parentIds group by c.parentCommentId")
+    List<Object[]> countRepliesByParentIds(@Param("parentIds") Collection<Integer> parentIds);
+
+    @Query("select c.commentId from Comment c where c.parentCommentId = :parentId")
+    List<Integer> findIdsByParentCommentId(@Param("parentId") int parentId);
+
+    @Modifying
+    @Query("delete from Comment c where c.parentCommentId = :parentId")
+    int deleteByParentCommentId(@Param("parentId") int parentId);
 }
@@ -0,0 +1,48 @@
+package com.skillconnect.server.repository;
+
+import com.skillconnect.server.model.FollowCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface FollowCounterRepository extends JpaRepository<FollowCounter, Integer> {
+
+    @Modifying
+    @Query(value = "insert into follow_counters (user_id, follower_count, following_count) " +
+            "values (:userId, :followerDelta, :followingDelta) " +
+            "on conflict (user_id) do update set follower_count = follow_counters.follower_count + excluded.follower_count, " +
+            "following_count = follow_counters.following_count + excluded.following_count", nativeQuery = true)
+    int increment(@Param("userId") int userId,
+                  @Param("followerDelta") long followerDelta,
+                  @Param("followingDelta") long followingDelta);
+
+    // Only creates missing counters; a row written concurrently by an increment wins the conflict
+    @Modifying
+    @Query(value = "insert into follow_counters (user_id, follower_count, following_count) " +
+            "select u.user_id, coalesce(fr.total, 0), coalesce(fg.total, 0) from users u " +
+            "left join (select user_id, count(*) as total from follows group by user_id) fr on fr.user_id = u.user_id " +
+            "left join (select follower_id, count(*) as total from follows group by follower_id) fg on fg.follower_id = u.user_id " +
+            "on conflict (user_id) do nothing", nativeQuery = true)
+    int createMissing();
+
+    @Query(value = "select c.user_id from follow_counters c " +
+            "left join (select user_id, count(*) as total from follows group by user_id) fr on fr.user_id = c.user_id " +
+            "left join (select follower_id, count(*) as total from follows group by follower_id) fg on fg.follower_id = c.user_id " +
+            "where c.follower_count <> coalesce(fr.total, 0) or c.following_count <> coalesce(fg.total, 0)", nativeQuery = true)
+    List<Integer> findMismatchedUserIds();
+
+    @Query(value = "select user_id from follow_counters where user_id = :userId for update", nativeQuery = true)
+    Integer lock(@Param("userId") int userId);
+
+    // Run after lock, so the counts see every follow whose increment committed before it
+    @Modifying
+    @Query(value = "update follow_counters c set follower_count = f.followers, following_count = f.following " +
+            "from (select (select count(*) from follows where user_id = :userId) as followers, " +
+            "(select count(*) from follows where follower_id = :userId) as following) f " +
+            "where c.user_id = :userId and (c.follower_count <> f.followers or c.following_count <> f.following)",
+            nativeQuery = true)
+    int recount(@Param("userId") int userId);
+}
@@ -2,10 +2,19 @@ package com.skillconnect.server.repository;
 
 import com.skillconnect.server.model.Follow;
 import com.skillconnect.server.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface FollowRepository extends JpaRepository<Follow, Integer> {
     List<Follow> findByFollower_userId(int id);
@@ -15,4 +24,37 @@ public interface FollowRepository extends JpaRepository<Follow, Integer> {
     int countByUser(User following);
     
     Optional<Follow> findByFollower_UserIdAndUser_UserId(int follower, int following);
+
+    // Returns 1 when the follow was inserted, 0 when it already existed
+    @Modifying
+    @Query(value = "insert into follows (user_id, follower_id, created_at) values (:followedId, :followerId, now()) " +
+            "on conflict (follower_id, user_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") int followerId, @Param("followedId") int followedId);
+
+    @Query("select f.follower.userId from Follow f where f.user.userId = :userId")
+    List<Integer> findFollowerIdsByUserId(@Param("userId") int userId);
+
+    @Query("select f.user.userId from Follow f where f.follower.userId = :userId")
+    List<Integer> findFollowingIdsByUserId(@Param("userId") int userId);
+
+    // Rows of [followerId, followedId]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("select f.follower.userId, f.user.userId from Follow f")
+    Stream<Object[]> streamEdges();
+
+    // Rows of [followerId, followedId] for edges in either direction between the viewer and the targets
+    @Query("select f.follower.userId, f.user.userId from Follow f " +
+            "where (f.follower.userId = :viewerId and f.user.userId in :targetIds) " +
+            "or (f.user.userId = :viewerId and f.follower.userId in :targetIds)")
+    List<Object[]> findEdgesBetween(@Param("viewerId") int viewerId, @Param("targetIds") Collection<Integer> targetIds);
+
+    // Rows of [candidateId, mutualCount] for users followed by the user's followees but not by the user
+    @Query("select f2.user.userId, count(f2) from Follow f1 join Follow f2 on f2.follower.userId = f1.user.userId " +
+            "where f1.follower.userId = :userId and f2.user.userId <> :userId " +
+            "and f2.user.userId not in (select f3.user.userId from Follow f3 where f3.follower.userId = :userId) " +
+            "group by f2.user.userId order by count(f2) desc")
+    List<Object[]> countSecondDegree(@Param("userId") int userId, Pageable pageable);
+
+    @Query("select f.user.userId from Follow f group by f.user.userId having count(f) > :threshold")
+    List<Integer> findUserIdsWithMoreFollowersThan(@Param("threshold") long threshold);
 }
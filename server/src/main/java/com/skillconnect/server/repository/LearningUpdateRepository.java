@@ -1,10 +1,17 @@
 package com.skillconnect.server.repository;
 
 import com.skillconnect.server.model.LearningUpdate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LearningUpdateRepository extends JpaRepository<LearningUpdate, Integer> {
@@ -16,4 +23,13 @@ public interface LearningUpdateRepository extends JpaRepository<LearningUpdate,
     List<LearningUpdate> findByUser_UserIdAndStatus(int userId, String status);
     List<LearningUpdate> findByUser_UserIdAndCategory(int userId, String category);
     List<LearningUpdate> findByUser_UserIdAndType(int userId, String type);
+
+    // Rows of [userId, category]
+    @Query("select distinct lu.user.userId, lu.category from LearningUpdate lu " +
+            "where lu.user.userId in :userIds and lu.category is not null")
+    List<Object[]> findCategoriesByUserIds(@Param("userIds") Collection<Integer> userIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select lu from LearningUpdate lu join fetch lu.user")
+    Stream<LearningUpdate> streamAll();
 }
@@ -3,10 +3,18 @@ package com.skillconnect.server.repository;
 import com.skillconnect.server.model.Like;
 import com.skillconnect.server.model.Post;
 import com.skillconnect.server.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LikeRepository extends JpaRepository<Like, Integer> {
     List<Like> findByPost(Post post);
@@ -14,7 +22,31 @@ public interface LikeRepository extends JpaRepository<Like, Integer> {
     List<Like> findByUser(User user);
     Optional<Like> findByUserAndPost(User user, Post post);
     int countByPost(Post post);
+    long countByPost_PostId(int postId);
     boolean existsByUserAndPost(User user, Post post);
     Optional<Like> findByUser_UserIdAndPost_PostId(int userId, int postId);
     void deleteByPost_PostId(int postId);
+
+    // Rows of [authorId, likeCount] for every author whose posts the user has liked
+    @Query("select l.post.user.userId, count(l) from Like l where l.user.userId = :userId group by l.post.user.userId")
+    List<Object[]> countLikesByAuthorForUser(@Param("userId") int userId);
+
+    // Returns 1 when the like was inserted, 0 when it already existed or the post does not exist;
+    // a missing user fails the user_id foreign key
+    @Modifying
+    @Query(value = "insert into likes (user_id, post_id, created_at) " +
+            "select :userId, p.post_id, now() from posts p where p.post_id = :postId " +
+            "on conflict (user_id, post_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") int userId, @Param("postId") int postId);
+
+    @Modifying
+    @Query("delete from Like l where l.user.userId = :userId and l.post.postId = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") int userId, @Param("postId") int postId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("select l.post.postId, l.user.userId from Like l")
+    Stream<Object[]> streamPostAndUserIds();
+
+    @Query("select l.post.postId from Like l where l.user.userId = :userId and l.post.postId in :postIds")
+    List<Integer> findLikedPostIds(@Param("userId") int userId, @Param("postIds") Collection<Integer> postIds);
 }
@@ -0,0 +1,41 @@
+package com.skillconnect.server.repository;
+
+import com.skillconnect.server.model.NotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Integer> {
+
+    @Modifying
+    @Query(value = "update notification_counters set unread_count = 0 where user_id = :userId", nativeQuery = true)
+    int reset(@Param("userId") int userId);
+
+    // Only creates missing counters; a row written concurrently by an adjust wins the conflict
+    @Modifying
+    @Query(value = "insert into notification_counters (user_id, unread_count) " +
+            "select u.user_id, coalesce(n.total, 0) from users u " +
+            "left join (select user_id, count(*) as total from notifications where is_read = false group by user_id) n " +
+            "on n.user_id = u.user_id " +
+            "on conflict (user_id) do nothing", nativeQuery = true)
+    int createMissing();
+
+    @Query(value = "select c.user_id from notification_counters c " +
+            "left join (select user_id, count(*) as total from notifications where is_read = false group by user_id) n " +
+            "on n.user_id = c.user_id " +
+            "where c.unread_count <> coalesce(n.total, 0)", nativeQuery = true)
+    List<Integer> findMismatchedUserIds();
+
+    @Query(value = "select user_id from notification_counters where user_id = :userId for update", nativeQuery = true)
+    Integer lock(@Param("userId") int userId);
+
+    // Run after lock, so the count sees every change whose adjust committed before it
+    @Modifying
+    @Query(value = "update notification_counters c set unread_count = n.total " +
+            "from (select count(*) as total from notifications where user_id = :userId and is_read = false) n " +
+            "where c.user_id = :userId and c.unread_count <> n.total", nativeQuery = true)
+    int recount(@Param("userId") int userId);
+}
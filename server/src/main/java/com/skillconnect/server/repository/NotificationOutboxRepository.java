@@ -0,0 +1,29 @@
+package com.skillconnect.server.repository;
+
+import com.skillconnect.server.model.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Oldest pending rows, locked so concurrent dispatchers on other instances skip them
+    @Query(value = "select * from notification_outbox where attempts < :maxAttempts " +
+            "order by outbox_id limit :limit for update skip locked", nativeQuery = true)
+    List<NotificationOutbox> claimBatch(@Param("limit") int limit, @Param("maxAttempts") int maxAttempts);
+
+    @Query(value = "select * from notification_outbox where outbox_id = :outboxId and attempts < :maxAttempts " +
+            "for update skip locked", nativeQuery = true)
+    List<NotificationOutbox> claimById(@Param("outboxId") long outboxId, @Param("maxAttempts") int maxAttempts);
+
+    @Query("select o.outboxId from NotificationOutbox o where o.attempts < :maxAttempts order by o.outboxId")
+    List<Long> findPendingIds(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    @Modifying
+    @Query("update NotificationOutbox o set o.attempts = o.attempts + 1, o.lastError = :error where o.outboxId = :outboxId")
+    int recordFailure(@Param("outboxId") long outboxId, @Param("error") String error);
+}
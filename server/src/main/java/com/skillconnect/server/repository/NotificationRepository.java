@@ -2,11 +2,62 @@ package com.skillconnect.server.repository;
 
 import com.skillconnect.server.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
-    List<Notification> findByUser_UserId(int id);
-    List<Notification> findByUser_UserIdAndIsReadFalse(int id);
-    void deleteByUser_UserId(int id);
+
+    // The created_at bound lets Postgres prune the monthly partitions outside the read window
+    @Query("select n from Notification n where n.user.userId = :userId and n.createdAt >= :since " +
+            "order by n.createdAt desc")
+    List<Notification> findRecentByUserId(@Param("userId") int userId, @Param("since") LocalDateTime since);
+
+    @Query("select n from Notification n where n.user.userId = :userId and n.isRead = false and n.createdAt >= :since " +
+            "order by n.createdAt desc")
+    List<Notification> findRecentUnreadByUserId(@Param("userId") int userId, @Param("since") LocalDateTime since);
+
+    // Once partitioned the primary key is (notification_id, created_at). The ID alone stays unique,
+    // but single-row statements bound created_at so Postgres only visits partitions that can still hold the row
+    @Query("select n from Notification n where n.notificationId = :notificationId and n.createdAt >= :since")
+    Optional<Notification> findRecentById(@Param("notificationId") int notificationId, @Param("since") LocalDateTime since);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true " +
+            "where n.notificationId = :notificationId and n.createdAt = :createdAt and n.isRead = false")
+    int markReadByIdAndCreatedAt(@Param("notificationId") int notificationId, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n where n.notificationId = :notificationId and n.createdAt = :createdAt")
+    int deleteByIdAndCreatedAt(@Param("notificationId") int notificationId, @Param("createdAt") LocalDateTime createdAt);
+
+    // Bulk statements return the affected row count and never load the entities
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true where n.user.userId = :userId and n.isRead = false")
+    int markAllReadByUserId(@Param("userId") int userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true " +
+            "where n.user.userId = :userId and n.notificationId in :notificationIds and n.isRead = false")
+    int markReadByIds(@Param("userId") int userId, @Param("notificationIds") Collection<Integer> notificationIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n where n.user.userId = :userId")
+    int deleteAllByUserId(@Param("userId") int userId);
+
+    // Rows of [notificationId, userId, verb, targetId, actorCount, latestActorIds] for unread
+    // notifications that new events may still be folded into; callers match exact keys
+    @Query("select n.notificationId, n.user.userId, n.verb, n.targetId, n.actorCount, n.latestActorIds " +
+            "from Notification n where n.isRead = false and n.createdAt >= :since " +
+            "and n.user.userId in :recipientIds and n.verb in :verbs and n.targetId in :targetIds " +
+            "order by n.createdAt asc")
+    List<Object[]> findOpenAggregates(@Param("recipientIds") Collection<Integer> recipientIds,
+                                      @Param("verbs") Collection<String> verbs,
+                                      @Param("targetIds") Collection<Integer> targetIds,
+                                      @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,19 @@
+package com.skillconnect.server.repository;
+
+import com.skillconnect.server.model.PostCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface PostCounterRepository extends JpaRepository<PostCounter, Integer> {
+
+    // Creates counter rows for posts that predate the counters table
+    @Modifying
+    @Query(value = "insert into post_counters (post_id, like_count, comment_count) " +
+            "select p.post_id, " +
+            "(select count(*) from likes l where l.post_id = p.post_id), " +
+            "(select count(*) from comments c where c.post_id = p.post_id) " +
+            "from posts p where not exists (select 1 from post_counters pc where pc.post_id = p.post_id) " +
+            "on conflict (post_id) do nothing", nativeQuery = true)
+    int insertMissing();
+}
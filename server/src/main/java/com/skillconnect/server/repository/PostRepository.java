@@ -1,13 +1,81 @@
 package com.skillconnect.server.repository;
 
+import com.skillconnect.server.dto.FeedCandidate;
 import com.skillconnect.server.model.Post;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface PostRepository extends JpaRepository<Post, Integer> {
     Optional<Post> findByPostId(int postid);
     List<Post> findByUser_UserId(int userid);
+
+    // Posts by the user and everyone they follow, newest first, in a single round trip
+    @Query("select p from Post p join fetch p.user left join fetch p.learningUpdate " +
+            "where (p.user.userId = :userId or p.user.userId in " +
+            "(select f.user.userId from Follow f where f.follower.userId = :userId)) " +
+            "and p.createdAt >= :since " +
+            "order by p.createdAt desc, p.postId desc")
+    List<Post> findFeedPosts(@Param("userId") int userId, @Param("since") LocalDateTime since, Pageable pageable);
+
+    @Query("select p from Post p join fetch p.user left join fetch p.learningUpdate " +
+            "where (p.user.userId = :userId or p.user.userId in " +
+            "(select f.user.userId from Follow f where f.follower.userId = :userId)) " +
+            "and p.createdAt is not null " +
+            "order by p.createdAt desc, p.postId desc")
+    List<Post> findFeedPage(@Param("userId") int userId, Pageable pageable);
+
+    // Keyset continuation of findFeedPage: everything strictly older than (createdAt, postId). Rows without
+    // a createdAt cannot be positioned by a cursor, so neither query returns them
+    // (db/backfill-created-at.sql fills them in)
+    @Query("select p from Post p join fetch p.user left join fetch p.learningUpdate " +
+            "where (p.user.userId = :userId or p.user.userId in " +
+            "(select f.user.userId from Follow f where f.follower.userId = :userId)) " +
+            "and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.postId < :postId)) " +
+            "order by p.createdAt desc, p.postId desc")
+    List<Post> findFeedPageAfter(@Param("userId") int userId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("postId") int postId,
+                                 Pageable pageable);
+
+    @Query("select p from Post p join fetch p.user left join fetch p.learningUpdate " +
+            "where p.user.userId in :authorIds and p.createdAt >= :since order by p.createdAt desc, p.postId desc")
+    List<Post> findRecentByAuthorIds(@Param("authorIds") Collection<Integer> authorIds, @Param("since") LocalDateTime since,
+                                     Pageable pageable);
+
+    @Query("select p from Post p join fetch p.user left join fetch p.learningUpdate where p.postId in :postIds")
+    List<Post> findAllWithUserByPostIdIn(@Param("postIds") Collection<Integer> postIds);
+
+    // Rows of [postId, first length characters of the description]
+    // Rows of [authorId, createdAt]; what a new like needs without loading the post and its author
+    @Query("select p.user.userId, p.createdAt from Post p where p.postId = :postId")
+    List<Object[]> findAuthorIdAndCreatedAt(@Param("postId") int postId);
+
+    @Query("select p.postId, substring(p.description, 1, :length) from Post p where p.postId in :postIds")
+    List<Object[]> findDescriptionExcerpts(@Param("postIds") Collection<Integer> postIds, @Param("length") int length);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Post p join fetch p.user left join fetch p.learningUpdate")
+    Stream<Post> streamAll();
+
+    // Lightweight projection for ranking; callers must consume it inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.skillconnect.server.dto.FeedCandidate(p.postId, p.user.userId, p.createdAt, " +
+            "coalesce(pc.likeCount, 0L), coalesce(pc.commentCount, 0L)) " +
+            "from Post p left join PostCounter pc on pc.postId = p.postId " +
+            "where (p.user.userId = :userId or p.user.userId in " +
+            "(select f.user.userId from Follow f where f.follower.userId = :userId)) " +
+            "and p.createdAt >= :since")
+    Stream<FeedCandidate> streamFeedCandidates(@Param("userId") int userId, @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,77 @@
+package com.skillconnect.server.repository;
+
+import com.skillconnect.server.model.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimelineRepository extends JpaRepository<TimelineEntry, Long> {
+
+    @Query("select t.postId from TimelineEntry t where t.ownerId = :ownerId order by t.createdAt desc, t.postId desc")
+    List<Integer> findHeadPostIds(@Param("ownerId") int ownerId, Pageable pageable);
+
+    // Writes below only reach owners in timeline_states; unseeded owners are assembled and seeded on read
+    @Modifying
+    @Query(value = "insert into timelines (owner_id, post_id, author_id, created_at) " +
+            "select f.follower_id, :postId, :authorId, :createdAt from follows f " +
+            "join timeline_states s on s.owner_id = f.follower_id where f.user_id = :authorId " +
+            "union select s.owner_id, :postId, :authorId, :createdAt from timeline_states s where s.owner_id = :authorId " +
+            "on conflict (owner_id, post_id) do nothing", nativeQuery = true)
+    int fanOut(@Param("postId") int postId, @Param("authorId") int authorId, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = "insert into timelines (owner_id, post_id, author_id, created_at) " +
+            "select s.owner_id, :postId, :authorId, :createdAt from timeline_states s where s.owner_id = :authorId " +
+            "on conflict (owner_id, post_id) do nothing", nativeQuery = true)
+    int addToOwnTimeline(@Param("postId") int postId, @Param("authorId") int authorId, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = "insert into timelines (owner_id, post_id, author_id, created_at) " +
+            "select :ownerId, p.post_id, p.user_id, p.created_at from posts p where p.user_id = :authorId " +
+            "and exists (select 1 from timeline_states s where s.owner_id = :ownerId) " +
+            "order by p.created_at desc limit :limit " +
+            "on conflict (owner_id, post_id) do nothing", nativeQuery = true)
+    int backfill(@Param("ownerId") int ownerId, @Param("authorId") int authorId, @Param("limit") int limit);
+
+    // Recent posts of an author that was pulled at read time, for their followers once it is pushed again
+    @Modifying
+    @Query(value = "insert into timelines (owner_id, post_id, author_id, created_at) " +
+            "select f.follower_id, p.post_id, p.user_id, p.created_at from follows f " +
+            "join timeline_states s on s.owner_id = f.follower_id " +
+            "cross join (select post_id, user_id, created_at from posts where user_id = :authorId and created_at >= :since " +
+            "order by created_at desc limit :limit) p where f.user_id = :authorId " +
+            "on conflict (owner_id, post_id) do nothing", nativeQuery = true)
+    int backfillFollowers(@Param("authorId") int authorId, @Param("since") LocalDateTime since, @Param("limit") int limit);
+
+    // The assembled feed of one owner, read after its timeline_states row is committed
+    @Modifying
+    @Query(value = "insert into timelines (owner_id, post_id, author_id, created_at) " +
+            "select :ownerId, p.post_id, p.user_id, p.created_at from posts p " +
+            "where (p.user_id = :ownerId or p.user_id in (select f.user_id from follows f where f.follower_id = :ownerId)) " +
+            "and p.created_at >= :since order by p.created_at desc, p.post_id desc limit :limit " +
+            "on conflict (owner_id, post_id) do nothing", nativeQuery = true)
+    int seed(@Param("ownerId") int ownerId, @Param("since") LocalDateTime since, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from TimelineEntry t where t.ownerId = :ownerId")
+    int deleteByOwnerId(@Param("ownerId") int ownerId);
+
+    @Modifying
+    @Query("delete from TimelineEntry t where t.postId = :postId")
+    int deleteByPostId(@Param("postId") int postId);
+
+    @Modifying
+    @Query("delete from TimelineEntry t where t.ownerId = :ownerId and t.authorId = :authorId")
+    int deleteByOwnerIdAndAuthorId(@Param("ownerId") int ownerId, @Param("authorId") int authorId);
+
+    @Modifying
+    @Query(value = "delete from timelines t using (" +
+            "select timeline_id, row_number() over (partition by owner_id order by created_at desc, post_id desc) as rn " +
+            "from timelines) r where t.timeline_id = r.timeline_id and r.rn > :maxSize", nativeQuery = true)
+    int trimTo(@Param("maxSize") int maxSize);
+}
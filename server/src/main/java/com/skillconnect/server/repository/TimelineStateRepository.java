@@ -0,0 +1,16 @@
+package com.skillconnect.server.repository;
+
+import com.skillconnect.server.model.TimelineState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TimelineStateRepository extends JpaRepository<TimelineState, Integer> {
+
+    // Returns 1 for the caller that gets to seed the timeline, 0 when it is already materialized
+    @Modifying
+    @Query(value = "insert into timeline_states (owner_id, seeded_at) values (:ownerId, now()) " +
+            "on conflict (owner_id) do nothing", nativeQuery = true)
+    int markSeeded(@Param("ownerId") int ownerId);
+}
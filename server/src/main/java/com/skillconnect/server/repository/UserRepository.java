@@ -1,8 +1,16 @@
 package com.skillconnect.server.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import com.skillconnect.server.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
     User findByEmail(String email);
@@ -11,4 +19,15 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     boolean existsByUsername(String username);
     List<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
 
+    @Query("select u.userId from User u where u.userId in :userIds")
+    List<Integer> findExistingIds(@Param("userIds") Collection<Integer> userIds);
+
+    // Rows of [userId, firstName, lastName]
+    @Query("select u.userId, u.firstName, u.lastName from User u where u.userId in :userIds")
+    List<Object[]> findNamesByIds(@Param("userIds") Collection<Integer> userIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u from User u")
+    Stream<User> streamAll();
+
 }
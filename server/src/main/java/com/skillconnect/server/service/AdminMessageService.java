@@ -2,8 +2,12 @@ package com.skillconnect.server.service;
 
 import com.skillconnect.server.model.AdminMessage;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AdminMessageService {
     
@@ -12,6 +16,10 @@ public interface AdminMessageService {
     Optional<AdminMessage> findById(int id);
     
     List<AdminMessage> findAllMessages();
+
+    Page<AdminMessage> findAllMessages(Pageable pageable);
+
+    void streamAllMessages(Consumer<AdminMessage> consumer);
     
     List<AdminMessage> findMessagesByAdminId(int id);
     
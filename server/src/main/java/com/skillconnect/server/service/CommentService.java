@@ -1,5 +1,6 @@
 package com.skillconnect.server.service;
 
+import com.skillconnect.server.dto.CursorPage;
 import com.skillconnect.server.model.Comment;
 
 import java.util.List;
@@ -12,6 +13,10 @@ public interface CommentService {
     Optional<Comment> findById(int commentId);
     
     List<Comment> findCommentsByPostId(int postId);
+
+    CursorPage<Comment> findCommentPage(int postId, String cursor, int size);
+
+    CursorPage<Comment> findReplyPage(int commentId, String cursor, int size);
     
     List<Comment> findCommentsByUserId(int id);
     
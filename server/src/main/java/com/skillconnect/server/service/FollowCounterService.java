@@ -0,0 +1,12 @@
+package com.skillconnect.server.service;
+
+import com.skillconnect.server.model.FollowCounter;
+
+public interface FollowCounterService {
+
+    void recordFollow(int followerId, int followedId, int delta);
+
+    FollowCounter getCounts(int userId);
+
+    void reconcile();
+}
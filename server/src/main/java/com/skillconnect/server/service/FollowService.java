@@ -1,6 +1,9 @@
 package com.skillconnect.server.service;
 
+import com.skillconnect.server.dto.FollowStatusDTO;
+import com.skillconnect.server.dto.FollowSuggestionDTO;
 import com.skillconnect.server.model.Follow;
+import com.skillconnect.server.model.FollowCounter;
 
 import java.util.List;
 
@@ -13,8 +16,18 @@ public interface FollowService {
     int getFollowerCount(int userId);
     
     int getFollowingCount(int userId);
+
+    FollowCounter getFollowCounts(int userId);
     
     boolean isFollowing(int followerId, int followingId);
 
+    List<FollowStatusDTO> getFollowStatus(int viewerId, List<Integer> targetIds);
+
     List<Follow> getFollowers(int userId);
+
+    int[] getFollowerIds(int userId);
+
+    int[] getFollowingIds(int userId);
+
+    List<FollowSuggestionDTO> getSuggestions(int userId, int limit);
 }
@@ -2,8 +2,12 @@ package com.skillconnect.server.service;
 
 import com.skillconnect.server.model.LearningUpdate;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface LearningUpdateService {
     LearningUpdate saveLearningUpdate(LearningUpdate learningUpdate);
@@ -12,6 +16,10 @@ public interface LearningUpdateService {
 
     List<LearningUpdate> findAllLearningUpdates();
 
+    Page<LearningUpdate> findAllLearningUpdates(Pageable pageable);
+
+    void streamAllLearningUpdates(Consumer<LearningUpdate> consumer);
+
     List<LearningUpdate> findByUserId(int userId);
 
     LearningUpdate updateLearningUpdate(LearningUpdate learningUpdate);
@@ -3,12 +3,17 @@ package com.skillconnect.server.service;
 import com.skillconnect.server.model.Like;
 
 import java.util.List;
+import java.util.Map;
 
 public interface LikeService {
     
-    Like likePost(int postId, int userId);
+    boolean likePost(int postId, int userId);
     
-    void unlikePost(int postId, int userId);
+    boolean unlikePost(int postId, int userId);
     
     List<Like> findLikesByPostId(int postId);
+
+    Map<Integer, Boolean> findLikeStatus(int userId, List<Integer> postIds);
+
+    long countLikes(int postId);
 }
@@ -0,0 +1,19 @@
+package com.skillconnect.server.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface NotificationCounterService {
+
+    void adjust(int userId, long delta);
+
+    void adjustAll(Map<Integer, Long> deltas);
+
+    void reset(int userId);
+
+    long getUnreadCount(int userId);
+
+    Map<Integer, Long> getUnreadCounts(Collection<Integer> userIds);
+
+    void reconcile();
+}
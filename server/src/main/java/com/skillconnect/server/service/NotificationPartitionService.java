@@ -0,0 +1,15 @@
+package com.skillconnect.server.service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface NotificationPartitionService {
+
+    boolean isPartitioned();
+
+    List<String> createPartitions(YearMonth from, int months);
+
+    List<String> dropPartitionsBefore(YearMonth cutoff);
+
+    void maintainPartitions();
+}
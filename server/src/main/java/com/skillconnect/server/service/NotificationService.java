@@ -1,5 +1,6 @@
 package com.skillconnect.server.service;
 
+import com.skillconnect.server.dto.NotificationDTO;
 import com.skillconnect.server.model.Notification;
 
 import java.util.List;
@@ -9,17 +10,25 @@ public interface NotificationService {
     
     Notification createNotification(Notification notification);
 
-    List<Notification> findUnreadNotificationsByUserId(int userId);
+    void enqueueNotification(int recipientId, Integer actorId, String verb, String targetType, Integer targetId);
 
-    void deleteAllNotifications(int userId);
+    int dispatchOutbox();
+
+    List<NotificationDTO> findUnreadNotificationsByUserId(int userId, Integer days);
+
+    long getUnreadCount(int userId);
+
+    int deleteAllNotifications(int userId);
     
-    Optional<Notification> findById(int notificationId);
+    Optional<NotificationDTO> findById(int notificationId);
     
-    List<Notification> findNotificationsByUserId(int userId);
+    List<NotificationDTO> findNotificationsByUserId(int userId, Integer days);
     
     void markAsRead(int notificationId);
     
-    void markAllAsRead(int userId);
+    int markAllAsRead(int userId);
+
+    int markAsRead(int userId, List<Integer> notificationIds);
     
     void deleteNotification(int notificationId);
 }
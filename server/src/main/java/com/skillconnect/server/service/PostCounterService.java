@@ -0,0 +1,26 @@
+package com.skillconnect.server.service;
+
+import com.skillconnect.server.model.Post;
+import com.skillconnect.server.model.PostCounter;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface PostCounterService {
+
+    void createCounter(int postId);
+
+    void removeCounter(int postId);
+
+    void recordLike(int postId, int delta);
+
+    void recordComment(int postId, int delta);
+
+    Map<Integer, PostCounter> getCounts(Collection<Integer> postIds);
+
+    void applyCounts(Collection<Post> posts);
+
+    void flush();
+
+    void backfillMissing();
+}
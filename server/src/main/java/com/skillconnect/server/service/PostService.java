@@ -1,9 +1,16 @@
 package com.skillconnect.server.service;
 
+import com.skillconnect.server.dto.CursorPage;
+import com.skillconnect.server.dto.PostCardDTO;
 import com.skillconnect.server.model.Post;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PostService {
 
@@ -12,6 +19,10 @@ public interface PostService {
     Optional<Post> findById(int postId);
     
     List<Post> findAllPosts();
+
+    Page<Post> findAllPosts(Pageable pageable);
+
+    void streamAllPosts(Consumer<Post> consumer);
     
     List<Post> findPostsByUserId(int userId);
     
@@ -20,4 +31,14 @@ public interface PostService {
     void deletePost(int postId);
 
     List<Post> loadFeed(int userId);
+
+    CursorPage<Post> loadFeedPage(int userId, String cursor, int size);
+
+    List<Post> loadRankedFeed(int userId, int limit);
+
+    Map<String, Long> getFeedStats();
+
+    List<Post> findTrendingPosts(int limit);
+
+    List<PostCardDTO> findPostCards(List<Integer> postIds, int viewerId);
 }
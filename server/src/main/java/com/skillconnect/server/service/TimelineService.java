@@ -0,0 +1,29 @@
+package com.skillconnect.server.service;
+
+import com.skillconnect.server.model.Post;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimelineService {
+
+    void fanOut(Post post);
+
+    void addToAuthorTimeline(Post post);
+
+    void retractPost(int postId);
+
+    void retractAuthor(int ownerId, int authorId);
+
+    void backfillAuthor(int ownerId, int authorId);
+
+    void backfillFollowers(int authorId);
+
+    List<Integer> readHead(int ownerId, int limit);
+
+    boolean hasTimeline(int ownerId);
+
+    void seed(int ownerId, LocalDateTime since);
+
+    void trimTimelines();
+}
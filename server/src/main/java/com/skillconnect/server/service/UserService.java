@@ -2,9 +2,13 @@ package com.skillconnect.server.service;
 
 import com.skillconnect.server.model.User;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 
 public interface UserService {
@@ -15,6 +19,8 @@ public interface UserService {
     Optional<User> findById(int userId);
     User findByEmail(String email);
     List<User> findAllUsers();
+    Page<User> findAllUsers(Pageable pageable);
+    void streamAllUsers(Consumer<User> consumer);
     User updateUser(int userid, User user);
     void deleteUser(int userId);
     boolean existsByEmail(String email);
@@ -5,13 +5,19 @@ import com.skillconnect.server.model.User;
 import com.skillconnect.server.repository.AdminMessageRepository;
 import com.skillconnect.server.repository.UserRepository;
 import com.skillconnect.server.service.AdminMessageService;
+import com.skillconnect.server.util.EntityStreams;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.log4j.Log4j2;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Log4j2
 @Service
@@ -20,6 +26,9 @@ public class AdminMessageServiceImpl implements AdminMessageService {
 
     private final AdminMessageRepository adminMessageRepository;
     private final UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     @Autowired
     public AdminMessageServiceImpl(
@@ -68,6 +77,20 @@ public class AdminMessageServiceImpl implements AdminMessageService {
         return messages;
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AdminMessage> findAllMessages(Pageable pageable) {
+        log.debug("Retrieving admin messages page {} of size {}", pageable.getPageNumber(), pageable.getPageSize());
+        return adminMessageRepository.findAll(pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllMessages(Consumer<AdminMessage> consumer) {
+        log.debug("Streaming all admin messages");
+        EntityStreams.forEachChunk(adminMessageRepository.streamAll(), entityManager, chunk -> chunk.forEach(consumer));
+    }
+    
     @Override
     public List<AdminMessage> findMessagesByAdminId(int id) {
         log.debug("Finding admin messages by admin ID: {}", id);
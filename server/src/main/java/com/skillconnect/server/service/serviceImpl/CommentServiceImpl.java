@@ -1,21 +1,32 @@
 package com.skillconnect.server.service.serviceImpl;
 
+import com.skillconnect.server.dto.CommentEvent;
+import com.skillconnect.server.dto.CursorPage;
+import com.skillconnect.server.dto.KeysetCursor;
+import com.skillconnect.server.feed.TrendingTracker;
 import com.skillconnect.server.model.Comment;
 import com.skillconnect.server.model.Notification;
 import com.skillconnect.server.model.Post;
 import com.skillconnect.server.model.User;
+import com.skillconnect.server.realtime.CommentStream;
 import com.skillconnect.server.repository.CommentRepository;
 import com.skillconnect.server.repository.PostRepository;
 import com.skillconnect.server.repository.UserRepository;
 import com.skillconnect.server.service.CommentService;
 import com.skillconnect.server.service.NotificationService;
+import com.skillconnect.server.service.PostCounterService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.log4j.Log4j2;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Log4j2
@@ -27,16 +38,28 @@ public class CommentServiceImpl implements CommentService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final PostCounterService postCounterService;
+    private final TrendingTracker trendingTracker;
+    private final CommentStream commentStream;
+
+    @Value("${comments.page.max-size}")
+    private int pageMaxSize;
     
     @Autowired
     public CommentServiceImpl(
             CommentRepository commentRepository,
             PostRepository postRepository,
-            UserRepository userRepository, NotificationService notificationService) {
+            UserRepository userRepository, NotificationService notificationService,
+            PostCounterService postCounterService,
+            TrendingTracker trendingTracker,
+            CommentStream commentStream) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.postCounterService = postCounterService;
+        this.trendingTracker = trendingTracker;
+        this.commentStream = commentStream;
         log.info("CommentServiceImpl initialized");
     }
     
@@ -58,10 +81,17 @@ public class CommentServiceImpl implements CommentService {
         
         comment.setPost(post);
         comment.setUser(user);
+        if (comment.getParentCommentId() != null) {
+            comment.setParentCommentId(resolveThreadRoot(comment.getParentCommentId(), post.getPostId()));
+        }
 
-        notificationService.createNotification(new Notification(post.getUser(), user.getFirstName() + " " + user.getLastName() + " commented on your post : " + post.getDescription()));
+        notificationService.enqueueNotification(post.getUser().getUserId(), user.getUserId(),
+                Notification.VERB_COMMENT, Notification.TARGET_POST, post.getPostId());
         
         Comment savedComment = commentRepository.save(comment);
+        postCounterService.recordComment(post.getPostId(), 1);
+        trendingTracker.recordComment(post.getPostId(), post.getCreatedAt(), 1);
+        commentStream.publish(CommentEvent.Type.CREATED, savedComment);
         log.info("Comment created successfully with ID: {}", savedComment.getCommentId());
         return savedComment;
     }
@@ -80,6 +110,44 @@ public class CommentServiceImpl implements CommentService {
         return comments;
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Comment> findCommentPage(int postId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, pageMaxSize));
+        log.debug("Finding comment page for post ID: {} with page size {}", postId, pageSize);
+
+        // Fetch one extra row to learn whether another page exists
+        PageRequest request = PageRequest.of(0, pageSize + 1);
+        List<Comment> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findTopLevelPage(postId, request);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findTopLevelPageAfter(postId, after.getCreatedAt(), after.getId(), request);
+        }
+
+        CursorPage<Comment> page = toPage(comments, pageSize);
+        applyReplyCounts(page.getItems());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Comment> findReplyPage(int commentId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, pageMaxSize));
+        log.debug("Finding reply page for comment ID: {} with page size {}", commentId, pageSize);
+
+        PageRequest request = PageRequest.of(0, pageSize + 1);
+        List<Comment> replies;
+        if (cursor == null || cursor.isBlank()) {
+            replies = commentRepository.findReplyPage(commentId, request);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            replies = commentRepository.findReplyPageAfter(commentId, after.getCreatedAt(), after.getId(), request);
+        }
+        return toPage(replies, pageSize);
+    }
+
     @Override
     public List<Comment> findCommentsByUserId(int id) {
         log.debug("Finding comments by user ID: {}", id);
@@ -91,13 +159,20 @@ public class CommentServiceImpl implements CommentService {
     @Override
     public Comment updateComment(Comment comment) {
         log.info("Updating comment with ID: {}", comment.getCommentId());
-        if (!commentRepository.existsById(comment.getCommentId())) {
-            log.error("Comment not found with ID: {}", comment.getCommentId());
-            throw new RuntimeException("Comment not found with id: " + comment.getCommentId());
+        Comment existingComment = commentRepository.findById(comment.getCommentId())
+                .orElseThrow(() -> {
+                    log.error("Comment not found with ID: {}", comment.getCommentId());
+                    return new RuntimeException("Comment not found with id: " + comment.getCommentId());
+                });
+        if (comment.getContent() == null || comment.getContent().isBlank()) {
+            throw new RuntimeException("Comment content must not be empty");
         }
         
-        comment.setUpdatedAt(LocalDateTime.now());
-        Comment updatedComment = commentRepository.save(comment);
+        // Only the text is editable; post, author and thread placement stay as stored
+        existingComment.setContent(comment.getContent());
+        existingComment.setUpdatedAt(LocalDateTime.now());
+        Comment updatedComment = commentRepository.save(existingComment);
+        commentStream.publish(CommentEvent.Type.UPDATED, updatedComment);
         log.info("Comment updated successfully: {}", comment.getCommentId());
         return updatedComment;
     }
@@ -105,8 +180,53 @@ public class CommentServiceImpl implements CommentService {
     @Override
     public void deleteComment(int commentId) {
         log.info("Deleting comment with ID: {}", commentId);
-        commentRepository.deleteById(commentId);
+        commentRepository.findById(commentId).ifPresent(comment -> {
+            // Deleting a thread root takes its replies with it, and subscribers hear about each one
+            int removed = 1;
+            if (comment.getParentCommentId() == null) {
+                List<Integer> replyIds = commentRepository.findIdsByParentCommentId(commentId);
+                removed += commentRepository.deleteByParentCommentId(commentId);
+                replyIds.forEach(replyId -> commentStream.publishDeleted(comment.getPost().getPostId(), replyId, commentId));
+            }
+            commentRepository.delete(comment);
+            postCounterService.recordComment(comment.getPost().getPostId(), -removed);
+            trendingTracker.recordComment(comment.getPost().getPostId(), comment.getPost().getCreatedAt(), -removed);
+            commentStream.publish(CommentEvent.Type.DELETED, comment);
+        });
         log.info("Comment deleted successfully: {}", commentId);
     }
-    
+
+    // Threads are one level deep, so a reply to a reply joins the thread of its parent
+    private int resolveThreadRoot(int parentCommentId, int postId) {
+        Comment parent = commentRepository.findById(parentCommentId)
+                .orElseThrow(() -> {
+                    log.error("Parent comment not found with ID: {}", parentCommentId);
+                    return new RuntimeException("Comment not found with id: " + parentCommentId);
+                });
+        if (parent.getPost().getPostId() != postId) {
+            throw new RuntimeException("Comment " + parentCommentId + " does not belong to post " + postId);
+        }
+        return parent.getParentCommentId() != null ? parent.getParentCommentId() : parentCommentId;
+    }
+
+    private CursorPage<Comment> toPage(List<Comment> comments, int pageSize) {
+        if (comments.size() <= pageSize) {
+            return new CursorPage<>(comments, null);
+        }
+        List<Comment> page = new ArrayList<>(comments.subList(0, pageSize));
+        Comment last = page.get(pageSize - 1);
+        return new CursorPage<>(page, new KeysetCursor(last.getCreatedAt(), last.getCommentId()).encode());
+    }
+
+    private void applyReplyCounts(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return;
+        }
+        Map<Integer, Long> counts = new HashMap<>();
+        for (Object[] row : commentRepository.countRepliesByParentIds(comments.stream().map(Comment::getCommentId).toList())) {
+            counts.put((Integer) row[0], (Long) row[1]);
+        }
+        comments.forEach(comment -> comment.setReplyCount(counts.getOrDefault(comment.getCommentId(), 0L)));
+    }
+
 }
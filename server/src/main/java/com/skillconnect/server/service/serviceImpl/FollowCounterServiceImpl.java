@@ -0,0 +1,83 @@
+package com.skillconnect.server.service.serviceImpl;
+
+import com.skillconnect.server.model.FollowCounter;
+import com.skillconnect.server.repository.FollowCounterRepository;
+import com.skillconnect.server.service.FollowCounterService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Follower and following counts per user, kept in FollowCounters by atomic upserts in the same
+ * transaction as the follow change, so a profile's counts are one primary-key read.
+ */
+@Log4j2
+@Service
+@Transactional
+public class FollowCounterServiceImpl implements FollowCounterService {
+
+    private final FollowCounterRepository followCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public FollowCounterServiceImpl(FollowCounterRepository followCounterRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.followCounterRepository = followCounterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        log.info("FollowCounterServiceImpl initialized");
+    }
+
+    @Override
+    public void recordFollow(int followerId, int followedId, int delta) {
+        // Lower user ID first, so concurrent follows between the same two users lock rows in the same order
+        if (followerId < followedId) {
+            followCounterRepository.increment(followerId, 0, delta);
+            followCounterRepository.increment(followedId, delta, 0);
+        } else {
+            followCounterRepository.increment(followedId, delta, 0);
+            followCounterRepository.increment(followerId, 0, delta);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FollowCounter getCounts(int userId) {
+        return followCounterRepository.findById(userId)
+                .orElseGet(() -> new FollowCounter(userId, 0, 0));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingCounters() {
+        int created = followCounterRepository.createMissing();
+        if (created > 0) {
+            log.info("Created follow counters for {} users", created);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(initialDelayString = "${follows.counters.reconcile-interval-ms}",
+            fixedDelayString = "${follows.counters.reconcile-interval-ms}")
+    public void reconcile() {
+        // Recounted under the counter's row lock, one user per transaction, so a concurrent
+        // follow is either committed before the count or applied on top of it
+        int repaired = 0;
+        for (Integer userId : followCounterRepository.findMismatchedUserIds()) {
+            Integer updated = transactionTemplate.execute(status -> {
+                followCounterRepository.lock(userId);
+                return followCounterRepository.recount(userId);
+            });
+            repaired += updated == null ? 0 : updated;
+        }
+        if (repaired > 0) {
+            log.info("Reconciled follow counters for {} users", repaired);
+        }
+    }
+}
@@ -1,19 +1,41 @@
 package com.skillconnect.server.service.serviceImpl;
 
+import com.skillconnect.server.cache.BoundedTtlCache;
+import com.skillconnect.server.dto.FollowStatusDTO;
+import com.skillconnect.server.dto.FollowSuggestionDTO;
+import com.skillconnect.server.feed.FanoutPolicy;
+import com.skillconnect.server.feed.FeedCache;
+import com.skillconnect.server.feed.TopKSelector;
+import com.skillconnect.server.graph.FollowGraph;
+import com.skillconnect.server.graph.FollowSuggester;
 import com.skillconnect.server.model.Follow;
+import com.skillconnect.server.model.FollowCounter;
 import com.skillconnect.server.model.Notification;
 import com.skillconnect.server.model.User;
 import com.skillconnect.server.repository.FollowRepository;
+import com.skillconnect.server.repository.LearningUpdateRepository;
 import com.skillconnect.server.repository.UserRepository;
+import com.skillconnect.server.service.FollowCounterService;
 import com.skillconnect.server.service.FollowService;
 import com.skillconnect.server.service.NotificationService;
+import com.skillconnect.server.service.TimelineService;
+import com.skillconnect.server.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.log4j.Log4j2;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -23,14 +45,48 @@ public class FollowServiceImpl implements FollowService {
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final TimelineService timelineService;
+    private final FeedCache feedCache;
+    private final FanoutPolicy fanoutPolicy;
+    private final FollowGraph followGraph;
+    private final FollowSuggester followSuggester;
+    private final LearningUpdateRepository learningUpdateRepository;
+    private final FollowCounterService followCounterService;
+    private final BoundedTtlCache<Integer, List<FollowSuggestionDTO>> suggestionCache;
+
+    // Candidates kept by mutual-follow count before shared categories re-rank them
+    private static final int SHORTLIST_FACTOR = 4;
+
+    @Value("${follows.status.max-targets}")
+    private int statusMaxTargets;
+
+    @Value("${follows.suggestions.max-size}")
+    private int suggestionsMaxSize;
+
+    @Value("${follows.suggestions.category-weight}")
+    private double categoryWeight;
 
     @Autowired
     public FollowServiceImpl(
             FollowRepository followRepository,
-            UserRepository userRepository, NotificationService notificationService) {
+            UserRepository userRepository, NotificationService notificationService,
+            TimelineService timelineService, FeedCache feedCache, FanoutPolicy fanoutPolicy,
+            FollowGraph followGraph, FollowSuggester followSuggester,
+            LearningUpdateRepository learningUpdateRepository,
+            FollowCounterService followCounterService,
+            @Value("${follows.suggestions.cache-max-weight}") long suggestionCacheMaxWeight,
+            @Value("${follows.suggestions.cache-ttl-seconds}") long suggestionCacheTtlSeconds) {
         this.followRepository = followRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.timelineService = timelineService;
+        this.feedCache = feedCache;
+        this.fanoutPolicy = fanoutPolicy;
+        this.followGraph = followGraph;
+        this.followSuggester = followSuggester;
+        this.learningUpdateRepository = learningUpdateRepository;
+        this.followCounterService = followCounterService;
+        this.suggestionCache = new BoundedTtlCache<>(suggestionCacheMaxWeight, Duration.ofSeconds(suggestionCacheTtlSeconds), List::size);
         log.info("FollowServiceImpl initialized");
     }
 
@@ -51,20 +107,24 @@ public class FollowServiceImpl implements FollowService {
                     return new RuntimeException("Followed user not found with id: " + follow.getUser().getUserId());
                 });
 
-        // Check if already following
-        if (isFollowing(follow.getFollower().getUserId(), follow.getUser().getUserId())) {
-            log.warn("User ID {} is already following user ID {}", follow.getFollower().getUserId(), follow.getUser().getUserId());
+        // The graph is only a fast path; the unique (follower, followed) constraint decides concurrent follows
+        if (isFollowing(follower.getUserId(), followed.getUserId())
+                || followRepository.insertIfAbsent(follower.getUserId(), followed.getUserId()) == 0) {
+            log.warn("User ID {} is already following user ID {}", follower.getUserId(), followed.getUserId());
             throw new RuntimeException("Already following this user");
         }
+        Follow savedFollow = followRepository.findByFollower_UserIdAndUser_UserId(follower.getUserId(), followed.getUserId())
+                .orElseThrow(() -> new RuntimeException("Follow relationship not found"));
 
-        // Create new follow relationship
-        Follow newFollow = new Follow();
-        newFollow.setFollower(follower);
-        newFollow.setUser(followed);
-
-        notificationService.createNotification(new Notification(followed, follower.getFirstName() + " " + follower.getLastName() + " started following you"));
-
-        Follow savedFollow = followRepository.save(newFollow);
+        notificationService.enqueueNotification(followed.getUserId(), follower.getUserId(),
+                Notification.VERB_FOLLOW, Notification.TARGET_USER, followed.getUserId());
+        followCounterService.recordFollow(follower.getUserId(), followed.getUserId(), 1);
+        if (!fanoutPolicy.isPullAuthor(followed.getUserId())) {
+            timelineService.backfillAuthor(follower.getUserId(), followed.getUserId());
+        }
+        feedCache.invalidateAfterCommit(List.of(follower.getUserId()));
+        followGraph.followAfterCommit(follower.getUserId(), followed.getUserId());
+        TransactionHooks.afterCommit(() -> suggestionCache.invalidate(follower.getUserId()));
         log.info("Follow relationship created successfully with ID: {}", savedFollow.getFollowId());
         return savedFollow;
     }
@@ -81,46 +141,181 @@ public class FollowServiceImpl implements FollowService {
                 });
 
         followRepository.delete(followExist);
+        followCounterService.recordFollow(followExist.getFollower().getUserId(), followExist.getUser().getUserId(), -1);
+        timelineService.retractAuthor(followExist.getFollower().getUserId(), followExist.getUser().getUserId());
+        feedCache.invalidateAfterCommit(List.of(followExist.getFollower().getUserId()));
+        followGraph.unfollowAfterCommit(followExist.getFollower().getUserId(), followExist.getUser().getUserId());
+        TransactionHooks.afterCommit(() -> suggestionCache.invalidate(followExist.getFollower().getUserId()));
         log.info("Follow relationship removed successfully");
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isFollowing(int followerId, int followedId) {
         log.debug("Checking if user ID {} is following user ID {}", followerId, followedId);
-        Optional<Follow> follow = followRepository.findByFollower_UserIdAndUser_UserId(followerId, followedId);
-        boolean following = follow.isPresent();
+        boolean following = followGraph.isReady()
+                ? followGraph.isFollowing(followerId, followedId)
+                : followRepository.findByFollower_UserIdAndUser_UserId(followerId, followedId).isPresent();
         log.debug("User ID {} is following user ID {}: {}", followerId, followedId, following);
         return following;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<FollowStatusDTO> getFollowStatus(int viewerId, List<Integer> targetIds) {
+        if (targetIds.size() > statusMaxTargets) {
+            throw new RuntimeException("At most " + statusMaxTargets + " users can be checked at once");
+        }
+        log.debug("Checking follow status of user ID {} against {} users", viewerId, targetIds.size());
+
+        if (followGraph.isReady()) {
+            return targetIds.stream()
+                    .map(targetId -> new FollowStatusDTO(targetId,
+                            followGraph.isFollowing(viewerId, targetId),
+                            followGraph.isFollowing(targetId, viewerId)))
+                    .toList();
+        }
+
+        if (targetIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> following = new HashSet<>();
+        Set<Integer> followedBy = new HashSet<>();
+        for (Object[] row : followRepository.findEdgesBetween(viewerId, targetIds)) {
+            int followerId = (Integer) row[0];
+            int followedId = (Integer) row[1];
+            if (followerId == viewerId) {
+                following.add(followedId);
+            }
+            if (followedId == viewerId) {
+                followedBy.add(followerId);
+            }
+        }
+        return targetIds.stream()
+                .map(targetId -> new FollowStatusDTO(targetId, following.contains(targetId), followedBy.contains(targetId)))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public int getFollowerCount(int userId) {
         log.debug("Getting follower count for user ID: {}", userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        int count = followRepository.countByUser(user);
+        int count = (int) followCounterService.getCounts(userId).getFollowerCount();
         log.debug("User ID {} has {} followers", userId, count);
         return count;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int getFollowingCount(int userId) {
         log.debug("Getting following count for user ID: {}", userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        int count = followRepository.countByFollower(user);
+        int count = (int) followCounterService.getCounts(userId).getFollowingCount();
         log.debug("User ID {} is following {} users", userId, count);
         return count;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public FollowCounter getFollowCounts(int userId) {
+        log.debug("Getting follow counts for user ID: {}", userId);
+        return followCounterService.getCounts(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Follow> getFollowers(int userId) {
         log.debug("Getting followers for user ID: {}", userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
         List<Follow> followers = followRepository.findByFollower_userId(userId);
         log.debug("User ID {} has {} followers", userId, followers.size());
         return followers;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public int[] getFollowerIds(int userId) {
+        if (followGraph.isReady()) {
+            return followGraph.followers(userId);
+        }
+        return followRepository.findFollowerIdsByUserId(userId).stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int[] getFollowingIds(int userId) {
+        if (followGraph.isReady()) {
+            return followGraph.following(userId);
+        }
+        return followRepository.findFollowingIdsByUserId(userId).stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FollowSuggestionDTO> getSuggestions(int userId, int limit) {
+        int k = Math.max(1, Math.min(limit, suggestionsMaxSize));
+        log.debug("Getting {} follow suggestions for user ID: {}", k, userId);
+        List<FollowSuggestionDTO> suggestions = suggestionCache.getOrLoad(userId, this::buildSuggestions);
+        return suggestions.subList(0, Math.min(k, suggestions.size()));
+    }
+
+    private List<FollowSuggestionDTO> buildSuggestions(int userId) {
+        Map<Integer, Integer> mutual = shortlistByMutualFollows(userId, suggestionsMaxSize * SHORTLIST_FACTOR);
+        if (mutual.isEmpty()) {
+            return List.of();
+        }
+
+        // One query for the categories of the user and every shortlisted candidate
+        Set<Integer> lookup = new HashSet<>(mutual.keySet());
+        lookup.add(userId);
+        Map<Integer, Set<String>> categories = new HashMap<>();
+        for (Object[] row : learningUpdateRepository.findCategoriesByUserIds(lookup)) {
+            categories.computeIfAbsent((Integer) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        Set<String> ownCategories = categories.getOrDefault(userId, Set.of());
+
+        Map<Integer, Integer> shared = new HashMap<>();
+        TopKSelector<Integer> ranked = new TopKSelector<>(suggestionsMaxSize);
+        mutual.forEach((candidateId, mutualCount) -> {
+            int sharedCount = (int) categories.getOrDefault(candidateId, Set.of()).stream()
+                    .filter(ownCategories::contains)
+                    .count();
+            shared.put(candidateId, sharedCount);
+            ranked.offer(candidateId, mutualCount + categoryWeight * sharedCount);
+        });
+
+        List<Integer> rankedIds = ranked.drainDescending();
+        Map<Integer, User> users = userRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        List<FollowSuggestionDTO> suggestions = new ArrayList<>(rankedIds.size());
+        for (Integer candidateId : rankedIds) {
+            User user = users.get(candidateId);
+            if (user != null) {
+                suggestions.add(new FollowSuggestionDTO(user.getUserId(), user.getUsername(), user.getFirstName(),
+                        user.getLastName(), user.getProfileImage(), user.getBio(),
+                        mutual.get(candidateId), shared.get(candidateId)));
+            }
+        }
+        log.info("Built {} follow suggestions for user ID: {}", suggestions.size(), userId);
+        return suggestions;
+    }
+
+    private Map<Integer, Integer> shortlistByMutualFollows(int userId, int size) {
+        Map<Integer, Integer> mutual = new HashMap<>();
+        if (!followSuggester.isReady()) {
+            for (Object[] row : followRepository.countSecondDegree(userId, PageRequest.of(0, size))) {
+                mutual.put((Integer) row[0], ((Long) row[1]).intValue());
+            }
+            return mutual;
+        }
+
+        FollowSuggester.SecondDegree secondDegree = followSuggester.secondDegree(userId);
+        TopKSelector<Integer> shortlist = new TopKSelector<>(size);
+        for (int i = 0; i < secondDegree.userIds().length; i++) {
+            shortlist.offer(i, secondDegree.mutualCounts()[i]);
+        }
+        for (int index : shortlist.drainDescending()) {
+            mutual.put(secondDegree.userIds()[index], secondDegree.mutualCounts()[index]);
+        }
+        return mutual;
+    }
+
 }
@@ -5,14 +5,20 @@ import com.skillconnect.server.model.User;
 import com.skillconnect.server.repository.LearningUpdateRepository;
 import com.skillconnect.server.repository.UserRepository;
 import com.skillconnect.server.service.LearningUpdateService;
+import com.skillconnect.server.util.EntityStreams;
 import lombok.extern.log4j.Log4j2;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @Log4j2
@@ -22,6 +28,9 @@ public class LearningUpdateServiceImpl implements LearningUpdateService {
     private final LearningUpdateRepository learningUpdateRepository;
     private final UserRepository userRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public LearningUpdateServiceImpl(LearningUpdateRepository learningUpdateRepository, UserRepository userRepository) {
         this.learningUpdateRepository = learningUpdateRepository;
@@ -59,6 +68,20 @@ public class LearningUpdateServiceImpl implements LearningUpdateService {
         return updates;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<LearningUpdate> findAllLearningUpdates(Pageable pageable) {
+        log.debug("Retrieving learning updates page {} of size {}", pageable.getPageNumber(), pageable.getPageSize());
+        return learningUpdateRepository.findAll(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllLearningUpdates(Consumer<LearningUpdate> consumer) {
+        log.debug("Streaming all learning updates");
+        EntityStreams.forEachChunk(learningUpdateRepository.streamAll(), entityManager, chunk -> chunk.forEach(consumer));
+    }
+
     @Override
     public List<LearningUpdate> findByUserId(int userId) {
         log.debug("Finding learning updates for user ID: {}", userId);
@@ -1,22 +1,27 @@
 package com.skillconnect.server.service.serviceImpl;
 
+import com.skillconnect.server.feed.TrendingTracker;
+import com.skillconnect.server.index.LikeIndex;
 import com.skillconnect.server.model.Like;
 import com.skillconnect.server.model.Notification;
-import com.skillconnect.server.model.Post;
-import com.skillconnect.server.model.User;
 import com.skillconnect.server.repository.LikeRepository;
 import com.skillconnect.server.repository.PostRepository;
-import com.skillconnect.server.repository.UserRepository;
 import com.skillconnect.server.service.LikeService;
 import com.skillconnect.server.service.NotificationService;
+import com.skillconnect.server.service.PostCounterService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.log4j.Log4j2;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 @Log4j2
 @Service
@@ -25,68 +30,82 @@ public class LikeServiceImpl implements LikeService {
 
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final PostCounterService postCounterService;
+    private final LikeIndex likeIndex;
+    private final TrendingTracker trendingTracker;
 
     @Autowired
     public LikeServiceImpl(
             LikeRepository likeRepository,
             PostRepository postRepository,
-            UserRepository userRepository, NotificationService notificationService) {
+            NotificationService notificationService,
+            PostCounterService postCounterService, LikeIndex likeIndex,
+            TrendingTracker trendingTracker) {
         this.likeRepository = likeRepository;
         this.postRepository = postRepository;
-        this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.postCounterService = postCounterService;
+        this.likeIndex = likeIndex;
+        this.trendingTracker = trendingTracker;
         log.info("LikeServiceImpl initialized");
     }
 
     @Override
-    public Like likePost(int postId, int userId) {
+    public boolean likePost(int postId, int userId) {
         log.info("Creating like for post ID: {} by user ID: {}", postId, userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("User not found with ID: {}", userId);
-                    return new RuntimeException("User not found with id: " + userId);
-                });
-
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> {
-                    log.error("Post not found with ID: {}", postId);
-                    return new RuntimeException("Post not found with id: " + postId);
-                });
-
-        Optional<Like> existingLike = likeRepository.findByUserAndPost(user, post);
-        if (existingLike.isPresent()) {
-            log.warn("User {} already liked post {}", userId, postId);
-            return existingLike.get();
-        } else {
-            Like like = new Like();
-            like.setUser(user);
-            like.setPost(post);
-            like.setCreatedAt(LocalDateTime.now());
-
-            notificationService.createNotification(new Notification(post.getUser(), user.getFirstName() +" " + user.getLastName() + " liked your post : " + post.getDescription()));
-
-            Like savedLike = likeRepository.save(like);
-            log.info("Like created successfully with ID: {}", savedLike.getLikeId());
-            return savedLike;
+        // One statement: it checks the post, and the user_id foreign key checks the user
+        int inserted;
+        try {
+            inserted = likeRepository.insertIfAbsent(userId, postId);
+        } catch (DataIntegrityViolationException e) {
+            // The post_id key only fails when the post was deleted after the statement found it
+            String detail = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            if (detail.contains("(post_id)")) {
+                log.error("Post not found with ID: {}", postId);
+                throw new RuntimeException("Post not found with id: " + postId, e);
+            }
+            log.error("User not found with ID: {}", userId);
+            throw new RuntimeException("User not found with id: " + userId, e);
         }
 
+        // Existence is only looked up on the rare path where nothing was inserted
+        if (inserted == 0) {
+            if (!postRepository.existsById(postId)) {
+                log.error("Post not found with ID: {}", postId);
+                throw new RuntimeException("Post not found with id: " + postId);
+            }
+            log.debug("User {} already liked post {}", userId, postId);
+            return false;
+        }
+
+        // Only a newly created like notifies the author
+        Object[] post = postRepository.findAuthorIdAndCreatedAt(postId).get(0);
+        notificationService.enqueueNotification((Integer) post[0], userId,
+                Notification.VERB_LIKE, Notification.TARGET_POST, postId);
+
+        postCounterService.recordLike(postId, 1);
+        likeIndex.addAfterCommit(postId, userId);
+        trendingTracker.recordLike(postId, (LocalDateTime) post[1], 1);
+        log.info("Like created for post ID: {} by user ID: {}", postId, userId);
+        return true;
     }
 
     @Override
-    public void unlikePost(int postId, int userId) {
+    public boolean unlikePost(int postId, int userId) {
         log.info("Removing like for post ID: {} by user ID: {}", postId, userId);
 
-        Like like = likeRepository.findByUser_UserIdAndPost_PostId(userId, postId)
-                .orElseThrow(() -> {
-                    log.error("Like not found for post ID: {} by user ID: {}", postId, userId);
-                    return new RuntimeException("Like not found");
-                });
+        if (likeRepository.deleteByUserIdAndPostId(userId, postId) == 0) {
+            log.debug("No like to remove for post ID: {} by user ID: {}", postId, userId);
+            return false;
+        }
 
-        likeRepository.delete(like);
+        postCounterService.recordLike(postId, -1);
+        likeIndex.removeAfterCommit(postId, userId);
+        trendingTracker.recordLike(postId, null, -1);
         log.info("Like removed successfully");
+        return true;
     }
 
     @Override
@@ -97,4 +116,25 @@ public class LikeServiceImpl implements LikeService {
         return likes;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Boolean> findLikeStatus(int userId, List<Integer> postIds) {
+        log.debug("Checking like status of user ID: {} for {} posts", userId, postIds.size());
+        Set<Integer> liked = likeIndex.isReady()
+                ? likeIndex.likedAmong(userId, postIds)
+                : new HashSet<>(likeRepository.findLikedPostIds(userId, postIds));
+        Map<Integer, Boolean> status = new LinkedHashMap<>();
+        postIds.forEach(postId -> status.put(postId, liked.contains(postId)));
+        return status;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countLikes(int postId) {
+        if (likeIndex.isReady()) {
+            return likeIndex.count(postId);
+        }
+        return likeRepository.countByPost_PostId(postId);
+    }
+
 }
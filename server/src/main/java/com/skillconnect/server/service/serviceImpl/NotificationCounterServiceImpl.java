@@ -0,0 +1,121 @@
+package com.skillconnect.server.service.serviceImpl;
+
+import com.skillconnect.server.model.NotificationCounter;
+import com.skillconnect.server.repository.NotificationCounterRepository;
+import com.skillconnect.server.service.NotificationCounterService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Unread notification count per user, kept in NotificationCounters by atomic upserts in the same
+ * transaction as the notification change, so the badge is one primary-key read.
+ */
+@Log4j2
+@Service
+@Transactional
+public class NotificationCounterServiceImpl implements NotificationCounterService {
+
+    private static final String UPSERT_SQL = "insert into notification_counters (user_id, unread_count) values (?, greatest(?, 0)) " +
+            "on conflict (user_id) do update set unread_count = greatest(notification_counters.unread_count + ?, 0)";
+
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public NotificationCounterServiceImpl(NotificationCounterRepository notificationCounterRepository, JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager) {
+        this.notificationCounterRepository = notificationCounterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        log.info("NotificationCounterServiceImpl initialized");
+    }
+
+    @Override
+    public void adjust(int userId, long delta) {
+        if (delta != 0) {
+            jdbcTemplate.update(UPSERT_SQL, userId, delta, delta);
+        }
+    }
+
+    @Override
+    public void adjustAll(Map<Integer, Long> deltas) {
+        // Sorted by user ID, so concurrent batches lock counter rows in the same order
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        new TreeMap<>(deltas).forEach((userId, delta) -> {
+            if (delta != 0) {
+                batch.add(new Object[]{userId, delta, delta});
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        }
+    }
+
+    @Override
+    public void reset(int userId) {
+        notificationCounterRepository.reset(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(int userId) {
+        return notificationCounterRepository.findById(userId)
+                .map(NotificationCounter::getUnreadCount)
+                .orElse(0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Long> getUnreadCounts(Collection<Integer> userIds) {
+        Map<Integer, Long> counts = new HashMap<>();
+        userIds.forEach(userId -> counts.put(userId, 0L));
+        notificationCounterRepository.findAllById(userIds)
+                .forEach(counter -> counts.put(counter.getUserId(), counter.getUnreadCount()));
+        return counts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingCounters() {
+        int created = notificationCounterRepository.createMissing();
+        if (created > 0) {
+            log.info("Created unread notification counters for {} users", created);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(initialDelayString = "${notifications.counters.reconcile-interval-ms}",
+            fixedDelayString = "${notifications.counters.reconcile-interval-ms}")
+    public void reconcile() {
+        // Each user is recounted under the counter's row lock in its own transaction. An adjust whose
+        // transaction already holds the lock commits first and is counted; a later one lands on top
+        int repaired = 0;
+        for (Integer userId : notificationCounterRepository.findMismatchedUserIds()) {
+            Integer updated = transactionTemplate.execute(status -> {
+                notificationCounterRepository.lock(userId);
+                return notificationCounterRepository.recount(userId);
+            });
+            repaired += updated == null ? 0 : updated;
+        }
+        if (repaired > 0) {
+            log.info("Reconciled unread notification counters for {} users", repaired);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.skillconnect.server.service.serviceImpl;
+
+import com.skillconnect.server.service.NotificationCounterService;
+import com.skillconnect.server.service.NotificationPartitionService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of Notifications (see db/partition-notifications.sql) rolling:
+ * upcoming months are created ahead of time and months past the retention period are detached
+ * and dropped whole. Does nothing while the table is not partitioned.
+ */
+@Log4j2
+@Service
+public class NotificationPartitionServiceImpl implements NotificationPartitionService {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_p(\\d{6})");
+
+    private static final String IS_PARTITIONED_SQL =
+            "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('notifications'))";
+
+    private static final String PARTITIONS_SQL = "select c.relname from pg_inherits i " +
+            "join pg_class c on c.oid = i.inhrelid where i.inhparent = to_regclass('notifications')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationCounterService notificationCounterService;
+
+    @Value("${notifications.partitions.retention-months}")
+    private int retentionMonths;
+
+    @Value("${notifications.partitions.premake-months}")
+    private int premakeMonths;
+
+    @Autowired
+    public NotificationPartitionServiceImpl(JdbcTemplate jdbcTemplate, NotificationCounterService notificationCounterService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationCounterService = notificationCounterService;
+        log.info("NotificationPartitionServiceImpl initialized");
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class));
+    }
+
+    @Override
+    public List<String> createPartitions(YearMonth from, int months) {
+        Set<String> existing = Set.copyOf(jdbcTemplate.queryForList(PARTITIONS_SQL, String.class));
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i <= months; i++) {
+            YearMonth month = from.plusMonths(i);
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("create table " + name + " partition of notifications for values from ('" +
+                        month.atDay(1) + "') to ('" + month.plusMonths(1).atDay(1) + "')");
+                created.add(name);
+            } catch (DataAccessException e) {
+                // Fails when the default partition already holds rows for this month
+                log.error("Could not create notification partition {}", name, e);
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public List<String> dropPartitionsBefore(YearMonth cutoff) {
+        List<String> dropped = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (!matcher.matches() || !YearMonth.parse(matcher.group(1), SUFFIX).isBefore(cutoff)) {
+                continue;
+            }
+            // Detaching first keeps the lock on the parent short; the drop then only touches the old table
+            jdbcTemplate.execute("alter table notifications detach partition " + name);
+            jdbcTemplate.execute("drop table " + name);
+            dropped.add(name);
+        }
+        return dropped;
+    }
+
+    @Override
+    @Scheduled(initialDelay = 0, fixedDelayString = "${notifications.partitions.maintenance-interval-ms}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            log.debug("Notifications table is not partitioned, skipping partition maintenance");
+            return;
+        }
+        YearMonth now = YearMonth.now();
+        List<String> created = createPartitions(now, premakeMonths);
+        // A month is dropped only once all of it is older than the retention period
+        List<String> dropped = dropPartitionsBefore(now.minusMonths(retentionMonths));
+        if (!dropped.isEmpty()) {
+            notificationCounterService.reconcile();
+        }
+        log.info("Notification partitions maintained: created {}, dropped {}", created, dropped);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "notifications_p" + month.format(SUFFIX);
+    }
+}
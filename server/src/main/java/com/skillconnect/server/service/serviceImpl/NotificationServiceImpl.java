@@ -1,18 +1,50 @@
 package com.skillconnect.server.service.serviceImpl;
 
+import com.skillconnect.server.dto.NotificationDTO;
+import com.skillconnect.server.dto.NotificationPushDTO;
 import com.skillconnect.server.model.Notification;
+import com.skillconnect.server.model.NotificationOutbox;
 import com.skillconnect.server.model.User;
+import com.skillconnect.server.notification.NotificationRenderer;
+import com.skillconnect.server.realtime.NotificationStream;
+import com.skillconnect.server.repository.NotificationOutboxRepository;
 import com.skillconnect.server.repository.NotificationRepository;
 import com.skillconnect.server.repository.UserRepository;
+import com.skillconnect.server.service.NotificationCounterService;
 import com.skillconnect.server.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.extern.log4j.Log4j2;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -21,13 +53,60 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationStream notificationStream;
+    private final NotificationCounterService notificationCounterService;
+    private final NotificationRenderer notificationRenderer;
+
+    // Structured rows leave content null; it is rendered by NotificationRenderer when read
+    private static final String INSERT_SQL = "insert into notifications " +
+            "(user_id, is_read, created_at, updated_at, verb, target_type, target_id, actor_id, actor_count, latest_actor_ids) " +
+            "values (?, false, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String AGGREGATE_SQL = "update notifications set content = null, target_type = ?, " +
+            "actor_id = ?, actor_count = ?, latest_actor_ids = ?, updated_at = ? where notification_id = ? and is_read = false";
+
+    @Value("${notifications.outbox.batch-size}")
+    private int outboxBatchSize;
+
+    @Value("${notifications.outbox.max-attempts}")
+    private int outboxMaxAttempts;
+
+    @Value("${notifications.aggregation.window-minutes}")
+    private long aggregationWindowMinutes;
+
+    @Value("${notifications.aggregation.max-latest-actors}")
+    private int maxLatestActors;
+
+    @Value("${notifications.read.max-ids}")
+    private int readMaxIds;
+
+    @Value("${notifications.read.window-days}")
+    private int readWindowDays;
+
+    @Value("${notifications.partitions.retention-months}")
+    private int retentionMonths;
     
     @Autowired
     public NotificationServiceImpl(
             NotificationRepository notificationRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            NotificationOutboxRepository notificationOutboxRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NotificationStream notificationStream,
+            NotificationCounterService notificationCounterService,
+            NotificationRenderer notificationRenderer) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.notificationStream = notificationStream;
+        this.notificationCounterService = notificationCounterService;
+        this.notificationRenderer = notificationRenderer;
         log.info("NotificationServiceImpl initialized");
     }
     
@@ -46,73 +125,417 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setIsRead(false);
         
         Notification savedNotification = notificationRepository.save(notification);
+        notificationCounterService.adjust(user.getUserId(), 1);
         log.info("Notification created successfully with ID: {}", savedNotification.getNotificationId());
         return savedNotification;
     }
     
+    /**
+     * Records a notification in the outbox as part of the caller's transaction; delivery happens
+     * asynchronously in {@link #dispatchOutbox()}.
+     */
+    @Override
+    public void enqueueNotification(int recipientId, Integer actorId, String verb, String targetType, Integer targetId) {
+        log.debug("Queueing {} notification for user ID: {}", verb, recipientId);
+        notificationOutboxRepository.save(new NotificationOutbox(recipientId, actorId, verb, targetType, targetId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(fixedDelayString = "${notifications.outbox.dispatch-interval-ms}")
+    public int dispatchOutbox() {
+        // One transaction per batch, so a large backlog never holds its locks for long
+        int dispatched = 0;
+        int batch;
+        do {
+            try {
+                batch = transactionTemplate.execute(status ->
+                        dispatchBatch(notificationOutboxRepository.claimBatch(outboxBatchSize, outboxMaxAttempts)));
+            } catch (RuntimeException e) {
+                // One bad row must not hold up the rest, so the batch is retried row by row
+                log.warn("Notification outbox batch failed, dispatching rows one at a time", e);
+                dispatched += dispatchRowByRow();
+                break;
+            }
+            dispatched += batch;
+        } while (batch == outboxBatchSize);
+        if (dispatched > 0) {
+            log.debug("Dispatched {} notifications from the outbox", dispatched);
+        }
+        return dispatched;
+    }
+
+    // Each row gets its own transaction; a failing row is charged an attempt and skipped for this run
+    private int dispatchRowByRow() {
+        List<Long> outboxIds = transactionTemplate.execute(status ->
+                notificationOutboxRepository.findPendingIds(outboxMaxAttempts, PageRequest.of(0, outboxBatchSize)));
+        int dispatched = 0;
+        for (Long outboxId : outboxIds) {
+            try {
+                dispatched += transactionTemplate.execute(status ->
+                        dispatchBatch(notificationOutboxRepository.claimById(outboxId, outboxMaxAttempts)));
+            } catch (RuntimeException e) {
+                String error = NestedExceptionUtils.getMostSpecificCause(e).toString();
+                transactionTemplate.executeWithoutResult(status -> notificationOutboxRepository.recordFailure(outboxId, error));
+                log.error("Could not dispatch notification outbox row {}: {}", outboxId, error);
+            }
+        }
+        return dispatched;
+    }
+
+    private int dispatchBatch(List<NotificationOutbox> claimed) {
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        // Collapse the batch per (recipient, verb, target) first, then fold each group into the
+        // recipient's open notification for that key or start a new one
+        Map<AggregateKey, Aggregate> groups = new LinkedHashMap<>();
+        for (NotificationOutbox event : claimed) {
+            AggregateKey key = new AggregateKey(event.getRecipientId(), event.getVerb(), event.getTargetId());
+            groups.computeIfAbsent(key, k -> new Aggregate()).add(event);
+        }
+        Map<AggregateKey, Object[]> open = findOpenAggregates(groups.keySet());
+        // Recipients deleted while their notification was still in the outbox are skipped
+        Set<Integer> recipients = new HashSet<>(userRepository.findExistingIds(
+                groups.keySet().stream().map(AggregateKey::recipientId).collect(Collectors.toSet())));
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<AggregateKey> updatedKeys = new ArrayList<>();
+        List<Push> insertedPushes = new ArrayList<>();
+        List<Push> updatedPushes = new ArrayList<>();
+        List<Push> pushes = new ArrayList<>();
+        groups.forEach((key, group) -> {
+            if (!recipients.contains(key.recipientId())) {
+                return;
+            }
+            NotificationOutbox latest = group.latest;
+            Timestamp at = Timestamp.valueOf(latest.getCreatedAt());
+            Object[] existing = open.get(key);
+            if (existing == null) {
+                addInsert(key, group, inserts, insertedPushes);
+            } else {
+                List<Integer> known = parseActorIds((String) existing[5]);
+                int added = group.anonymousEvents + (int) group.actorIds.stream().filter(id -> !known.contains(id)).count();
+                int actorCount = (existing[4] == null ? 1 : (Integer) existing[4]) + added;
+                List<Integer> merged = new ArrayList<>(group.actorIds);
+                known.stream().filter(id -> !merged.contains(id)).forEach(merged::add);
+                Integer actorId = merged.isEmpty() ? null : merged.get(0);
+                updates.add(new Object[]{latest.getTargetType(), actorId, actorCount, joinActorIds(merged), at, existing[0]});
+                updatedKeys.add(key);
+                updatedPushes.add(new Push(key, (Integer) existing[0], latest.getTargetType(), actorId, actorCount, latest.getCreatedAt()));
+            }
+        });
+
+        // An open notification read since findOpenAggregates matches no row; its events start a new one
+        int aggregated = 0;
+        if (!updates.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(AGGREGATE_SQL, updates);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    AggregateKey key = updatedKeys.get(i);
+                    addInsert(key, groups.get(key), inserts, insertedPushes);
+                } else {
+                    pushes.add(updatedPushes.get(i));
+                    aggregated++;
+                }
+            }
+        }
+        if (!inserts.isEmpty()) {
+            List<Integer> ids = insertReturningIds(inserts);
+            for (int i = 0; i < ids.size(); i++) {
+                pushes.add(insertedPushes.get(i).withNotificationId(ids.get(i)));
+            }
+            // Folding only touches notifications that are still unread, so only new rows move the counters
+            Map<Integer, Long> unreadDeltas = new HashMap<>();
+            inserts.forEach(row -> unreadDeltas.merge((Integer) row[0], 1L, Long::sum));
+            notificationCounterService.adjustAll(unreadDeltas);
+        }
+        notificationOutboxRepository.deleteAllInBatch(claimed);
+        publishToConnected(pushes);
+        log.debug("Dispatched {} outbox events as {} new and {} aggregated notifications",
+                claimed.size(), inserts.size(), aggregated);
+        return claimed.size();
+    }
+
+    private void addInsert(AggregateKey key, Aggregate group, List<Object[]> inserts, List<Push> insertedPushes) {
+        NotificationOutbox latest = group.latest;
+        Timestamp at = Timestamp.valueOf(latest.getCreatedAt());
+        int actorCount = group.actorIds.size() + group.anonymousEvents;
+        Integer actorId = group.actorIds.isEmpty() ? null : group.actorIds.get(0);
+        inserts.add(new Object[]{
+                key.recipientId(), at, at, key.verb(), latest.getTargetType(), key.targetId(),
+                actorId, actorCount, joinActorIds(group.actorIds)});
+        insertedPushes.add(new Push(key, null, latest.getTargetType(), actorId, actorCount, latest.getCreatedAt()));
+    }
+
+    // Content and unread counts are only computed for recipients that have a connection open
+    private void publishToConnected(List<Push> pushes) {
+        List<Push> connected = pushes.stream()
+                .filter(push -> notificationStream.isConnected(push.key().recipientId()))
+                .toList();
+        if (connected.isEmpty()) {
+            return;
+        }
+        List<String> contents = notificationRenderer.render(connected.stream().map(Push::payload).toList());
+        Set<Integer> recipientIds = new HashSet<>();
+        for (int i = 0; i < connected.size(); i++) {
+            Push push = connected.get(i);
+            recipientIds.add(push.key().recipientId());
+            notificationStream.publishNotification(push.key().recipientId(), new NotificationPushDTO(
+                    push.notificationId(), push.key().verb(), push.targetType(), push.key().targetId(),
+                    contents.get(i), push.actorCount(), push.updatedAt()));
+        }
+        notificationCounterService.getUnreadCounts(recipientIds).forEach(notificationStream::publishUnreadCount);
+    }
+
+    private void publishUnreadCount(int userId) {
+        if (notificationStream.isConnected(userId)) {
+            notificationStream.publishUnreadCount(userId, notificationCounterService.getUnreadCount(userId));
+        }
+    }
+
+    // Reads cover the last notifications.read.window-days unless the caller asks for more
+    private LocalDateTime readSince(Integer days) {
+        int window = days == null || days <= 0 ? readWindowDays : days;
+        return LocalDateTime.now().minusDays(window);
+    }
+
+    // Start of the oldest month partition maintenance keeps. Single-row lookups and the unread list
+    // use it, so they see every row the unread counter and its reconcile count
+    private LocalDateTime retainedSince() {
+        return YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    private List<Integer> insertReturningIds(List<Object[]> rows) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"notification_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(rows.get(i)).setValues(ps);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keys);
+        return keys.getKeyList().stream()
+                .map(key -> ((Number) key.get("notification_id")).intValue())
+                .toList();
+    }
+
+    private Map<AggregateKey, Object[]> findOpenAggregates(Collection<AggregateKey> keys) {
+        Set<Integer> recipientIds = new HashSet<>();
+        Set<String> verbs = new HashSet<>();
+        Set<Integer> targetIds = new HashSet<>();
+        for (AggregateKey key : keys) {
+            recipientIds.add(key.recipientId());
+            verbs.add(key.verb());
+            if (key.targetId() != null) {
+                targetIds.add(key.targetId());
+            }
+        }
+        Map<AggregateKey, Object[]> open = new HashMap<>();
+        if (targetIds.isEmpty()) {
+            return open;
+        }
+        LocalDateTime since = LocalDateTime.now().minusMinutes(aggregationWindowMinutes);
+        // Ordered oldest first, so the newest open notification per key wins
+        for (Object[] row : notificationRepository.findOpenAggregates(recipientIds, verbs, targetIds, since)) {
+            AggregateKey key = new AggregateKey((Integer) row[1], (String) row[2], (Integer) row[3]);
+            if (keys.contains(key)) {
+                open.put(key, row);
+            }
+        }
+        return open;
+    }
+
+    private String joinActorIds(List<Integer> actorIds) {
+        return actorIds.stream()
+                .limit(maxLatestActors)
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    private static List<Integer> parseActorIds(String actorIds) {
+        if (actorIds == null || actorIds.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(actorIds.split(",")).map(Integer::valueOf).toList();
+    }
+
+    private record AggregateKey(int recipientId, String verb, Integer targetId) {
+    }
+
+    // A new or updated notification to push once the batch is written
+    private record Push(AggregateKey key, Integer notificationId, String targetType, Integer actorId,
+                        int actorCount, LocalDateTime updatedAt) {
+
+        Push withNotificationId(int id) {
+            return new Push(key, id, targetType, actorId, actorCount, updatedAt);
+        }
+
+        NotificationRenderer.Payload payload() {
+            return new NotificationRenderer.Payload(key.verb(), targetType, key.targetId(), actorId, actorCount);
+        }
+    }
+
+    // Events of one key within a batch; actors are distinct and newest first
+    private static final class Aggregate {
+        private final List<Integer> actorIds = new ArrayList<>();
+        private int anonymousEvents;
+        private NotificationOutbox latest;
+
+        void add(NotificationOutbox event) {
+            latest = event;
+            if (event.getActorId() == null) {
+                anonymousEvents++;
+                return;
+            }
+            actorIds.remove(event.getActorId());
+            actorIds.add(0, event.getActorId());
+        }
+    }
+    
     @Override
-    public Optional<Notification> findById(int notificationId) {
+    @Transactional(readOnly = true)
+    public long getUnreadCount(int userId) {
+        log.debug("Getting unread notification count for user ID: {}", userId);
+        return notificationCounterService.getUnreadCount(userId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<NotificationDTO> findById(int notificationId) {
         log.debug("Finding notification by ID: {}", notificationId);
-        return notificationRepository.findById(notificationId);
+        return notificationRepository.findRecentById(notificationId, retainedSince())
+                .map(notification -> toDTOs(List.of(notification)).get(0));
     }
     
     @Override
-    public List<Notification> findNotificationsByUserId(int userId) {
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> findNotificationsByUserId(int userId, Integer days) {
         log.debug("Finding notifications for user ID: {}", userId);
-        List<Notification> notifications = notificationRepository.findByUser_UserId(userId);
+        List<Notification> notifications = notificationRepository.findRecentByUserId(userId, readSince(days));
         log.debug("Found {} notifications for user ID: {}", notifications.size(), userId);
-        return notifications;
+        return toDTOs(notifications);
     }
     
     @Override
-    public List<Notification> findUnreadNotificationsByUserId(int userId) {
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> findUnreadNotificationsByUserId(int userId, Integer days) {
         log.debug("Finding unread notifications for user ID: {}", userId);
-        List<Notification> unreadNotifications = notificationRepository.findByUser_UserIdAndIsReadFalse(userId);
+        // Without an explicit window this lists every unread notification, matching the unread count
+        LocalDateTime since = days == null || days <= 0 ? retainedSince() : readSince(days);
+        List<Notification> unreadNotifications = notificationRepository.findRecentUnreadByUserId(userId, since);
         log.debug("Found {} unread notifications for user ID: {}", unreadNotifications.size(), userId);
-        return unreadNotifications;
+        return toDTOs(unreadNotifications);
+    }
+
+    // Rows with stored free text keep it; structured rows are rendered together in one pass
+    private List<NotificationDTO> toDTOs(List<Notification> notifications) {
+        List<NotificationDTO> dtos = new ArrayList<>(notifications.size());
+        List<NotificationDTO> structured = new ArrayList<>();
+        List<NotificationRenderer.Payload> payloads = new ArrayList<>();
+        for (Notification notification : notifications) {
+            int actorCount = notification.getActorCount() == null ? 1 : notification.getActorCount();
+            NotificationDTO dto = new NotificationDTO(notification.getNotificationId(), notification.getActorId(),
+                    actorCount, notification.getVerb(), notification.getTargetType(), notification.getTargetId(),
+                    notification.getContent(), notification.getIsRead(), notification.getCreatedAt(),
+                    notification.getUpdatedAt());
+            if (notification.getContent() == null && notification.getVerb() != null) {
+                structured.add(dto);
+                payloads.add(new NotificationRenderer.Payload(notification.getVerb(), notification.getTargetType(),
+                        notification.getTargetId(), notification.getActorId(), actorCount));
+            }
+            dtos.add(dto);
+        }
+        List<String> contents = notificationRenderer.render(payloads);
+        for (int i = 0; i < structured.size(); i++) {
+            structured.get(i).setContent(contents.get(i));
+        }
+        return dtos;
     }
     
     @Override
     public void markAsRead(int notificationId) {
         log.info("Marking notification ID: {} as read", notificationId);
         
-        Notification notification = notificationRepository.findById(notificationId)
+        Notification notification = notificationRepository.findRecentById(notificationId, retainedSince())
                 .orElseThrow(() -> {
                     log.error("Notification not found with ID: {}", notificationId);
                     return new RuntimeException("Notification not found with id: " + notificationId);
                 });
+        int userId = notification.getUser().getUserId();
         
-        notification.setIsRead(true);
-        
-        notificationRepository.save(notification);
+        // Zero rows when it was already read, here or by a concurrent request
+        if (Boolean.TRUE.equals(notification.getIsRead())
+                || notificationRepository.markReadByIdAndCreatedAt(notificationId, notification.getCreatedAt()) == 0) {
+            log.debug("Notification already read: {}", notificationId);
+            return;
+        }
+        notificationCounterService.adjust(userId, -1);
+        publishUnreadCount(userId);
         log.info("Notification marked as read: {}", notificationId);
     }
     
     @Override
-    public void markAllAsRead(int userId) {
+    public int markAllAsRead(int userId) {
         log.info("Marking all notifications as read for user ID: {}", userId);
         
-        List<Notification> unreadNotifications = notificationRepository.findByUser_UserIdAndIsReadFalse(userId);
-        
-        for (Notification notification : unreadNotifications) {
-            notification.setIsRead(true);
+        int updated = notificationRepository.markAllReadByUserId(userId);
+        notificationCounterService.adjust(userId, -updated);
+        publishUnreadCount(userId);
+        log.info("Marked {} notifications as read for user ID: {}", updated, userId);
+        return updated;
+    }
+    
+    @Override
+    public int markAsRead(int userId, List<Integer> notificationIds) {
+        if (notificationIds.size() > readMaxIds) {
+            throw new RuntimeException("At most " + readMaxIds + " notifications can be marked as read at once");
+        }
+        log.info("Marking {} notifications as read for user ID: {}", notificationIds.size(), userId);
+        if (notificationIds.isEmpty()) {
+            return 0;
         }
         
-        notificationRepository.saveAll(unreadNotifications);
-        log.info("Marked {} notifications as read for user ID: {}", unreadNotifications.size(), userId);
+        // Scoped to the owner, so IDs belonging to other users are ignored rather than updated
+        int updated = notificationRepository.markReadByIds(userId, notificationIds);
+        notificationCounterService.adjust(userId, -updated);
+        publishUnreadCount(userId);
+        log.info("Marked {} notifications as read for user ID: {}", updated, userId);
+        return updated;
     }
     
     @Override
     public void deleteNotification(int notificationId) {
         log.info("Deleting notification with ID: {}", notificationId);
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.findRecentById(notificationId, retainedSince()).ifPresent(notification -> {
+            int userId = notification.getUser().getUserId();
+            if (notificationRepository.deleteByIdAndCreatedAt(notificationId, notification.getCreatedAt()) == 0) {
+                return;
+            }
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                notificationCounterService.adjust(userId, -1);
+            }
+            publishUnreadCount(userId);
+        });
         log.info("Notification deleted successfully: {}", notificationId);
     }
     
     @Override
-    public void deleteAllNotifications(int userId) {
+    public int deleteAllNotifications(int userId) {
         log.info("Deleting all notifications for user ID: {}", userId);
-        notificationRepository.deleteByUser_UserId(userId);
-        log.info("All notifications deleted for user ID: {}", userId);
+        int deleted = notificationRepository.deleteAllByUserId(userId);
+        notificationCounterService.reset(userId);
+        publishUnreadCount(userId);
+        log.info("Deleted {} notifications for user ID: {}", deleted, userId);
+        return deleted;
     }
 }
@@ -0,0 +1,173 @@
+package com.skillconnect.server.service.serviceImpl;
+
+import com.skillconnect.server.model.Post;
+import com.skillconnect.server.model.PostCounter;
+import com.skillconnect.server.repository.PostCounterRepository;
+import com.skillconnect.server.service.PostCounterService;
+import com.skillconnect.server.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Like and comment counts per post. Writes land in an in-memory accumulator (one long[2] per post,
+ * updated under the map's per-bin locks) and are flushed to PostCounters in JDBC batches.
+ * Reads combine the stored row with whatever is still pending.
+ */
+@Log4j2
+@Service
+@Transactional
+public class PostCounterServiceImpl implements PostCounterService {
+
+    private static final int LIKES = 0;
+    private static final int COMMENTS = 1;
+
+    // Inserts nothing once the post is gone, so late deltas for a deleted post never leave an orphan
+    // counter. The key share lock makes a concurrent delete either wait for the flush or win outright
+    private static final String UPSERT_SQL = "insert into post_counters (post_id, like_count, comment_count) " +
+            "select p.post_id, ?, ? from posts p where p.post_id = ? for key share " +
+            "on conflict (post_id) do update set like_count = post_counters.like_count + excluded.like_count, " +
+            "comment_count = post_counters.comment_count + excluded.comment_count";
+
+    private final PostCounterRepository postCounterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Integer, long[]> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PostCounterServiceImpl(PostCounterRepository postCounterRepository, JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.postCounterRepository = postCounterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        log.info("PostCounterServiceImpl initialized");
+    }
+
+    @Override
+    public void createCounter(int postId) {
+        postCounterRepository.save(new PostCounter(postId, 0, 0));
+    }
+
+    @Override
+    public void removeCounter(int postId) {
+        postCounterRepository.findById(postId).ifPresent(postCounterRepository::delete);
+        TransactionHooks.afterCommit(() -> pending.remove(postId));
+    }
+
+    @Override
+    public void recordLike(int postId, int delta) {
+        TransactionHooks.afterCommit(() -> add(postId, LIKES, delta));
+    }
+
+    @Override
+    public void recordComment(int postId, int delta) {
+        TransactionHooks.afterCommit(() -> add(postId, COMMENTS, delta));
+    }
+
+    private void add(int postId, int slot, long delta) {
+        pending.compute(postId, (id, counts) -> {
+            long[] updated = counts == null ? new long[2] : counts;
+            updated[slot] += delta;
+            return updated;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, PostCounter> getCounts(Collection<Integer> postIds) {
+        // Copies, so adding pending deltas never dirties the managed entities
+        Map<Integer, PostCounter> counts = postCounterRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(PostCounter::getPostId,
+                        counter -> new PostCounter(counter.getPostId(), counter.getLikeCount(), counter.getCommentCount())));
+        for (Integer postId : postIds) {
+            PostCounter counter = counts.computeIfAbsent(postId, id -> new PostCounter(id, 0, 0));
+            // Read under the same per-key lock the writers use
+            pending.computeIfPresent(postId, (id, delta) -> {
+                counter.setLikeCount(counter.getLikeCount() + delta[LIKES]);
+                counter.setCommentCount(counter.getCommentCount() + delta[COMMENTS]);
+                return delta;
+            });
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void applyCounts(Collection<Post> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        Map<Integer, PostCounter> counts = getCounts(posts.stream().map(Post::getPostId).collect(Collectors.toSet()));
+        for (Post post : posts) {
+            PostCounter counter = counts.get(post.getPostId());
+            post.setLikeCount(counter.getLikeCount());
+            post.setCommentCount(counter.getCommentCount());
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(fixedDelayString = "${posts.counters.flush-interval-ms}")
+    public void flush() {
+        // Deltas stay in pending, so reads keep seeing them, until the write that carries them commits.
+        // Sorted by post ID, so concurrent flushes lock rows in the same order
+        Map<Integer, long[]> flushing = new TreeMap<>();
+        for (Integer postId : pending.keySet()) {
+            pending.computeIfPresent(postId, (id, delta) -> {
+                flushing.put(id, delta.clone());
+                return delta;
+            });
+        }
+        if (flushing.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(flushing.size());
+        flushing.forEach((postId, delta) -> batch.add(new Object[]{delta[LIKES], delta[COMMENTS], postId}));
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, batch));
+        } catch (RuntimeException e) {
+            // The transaction rolled back and the deltas are still pending, so the next flush retries them
+            log.error("Failed to flush counters for {} posts", flushing.size(), e);
+            return;
+        }
+        flushing.forEach((postId, flushed) -> pending.computeIfPresent(postId, (id, delta) -> {
+            delta[LIKES] -= flushed[LIKES];
+            delta[COMMENTS] -= flushed[COMMENTS];
+            return delta[LIKES] == 0 && delta[COMMENTS] == 0 ? null : delta;
+        }));
+        log.debug("Flushed counters for {} posts", flushing.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        int created = postCounterRepository.insertMissing();
+        if (created > 0) {
+            log.info("Created counters for {} existing posts", created);
+        }
+    }
+}
@@ -1,22 +1,51 @@
 package com.skillconnect.server.service.serviceImpl;
 
-import com.skillconnect.server.model.Follow;
+import com.skillconnect.server.dto.CursorPage;
+import com.skillconnect.server.dto.FeedCandidate;
+import com.skillconnect.server.dto.KeysetCursor;
+import com.skillconnect.server.dto.PostCardDTO;
+import com.skillconnect.server.feed.FanoutPolicy;
+import com.skillconnect.server.feed.FeedCache;
+import com.skillconnect.server.feed.FeedScorer;
+import com.skillconnect.server.feed.TopKSelector;
+import com.skillconnect.server.feed.TrendingTracker;
+import com.skillconnect.server.index.LikeIndex;
 import com.skillconnect.server.model.Post;
 import com.skillconnect.server.model.User;
 import com.skillconnect.server.repository.CommentRepository;
+import com.skillconnect.server.repository.FollowRepository;
 import com.skillconnect.server.repository.LikeRepository;
 import com.skillconnect.server.repository.PostRepository;
 import com.skillconnect.server.repository.UserRepository;
-import com.skillconnect.server.service.FollowService;
+import com.skillconnect.server.service.PostCounterService;
 import com.skillconnect.server.service.PostService;
+import com.skillconnect.server.service.TimelineService;
+import com.skillconnect.server.util.EntityStreams;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.log4j.Log4j2;
 
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -25,17 +54,64 @@ public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-    private final FollowService followService;
     private final LikeRepository likeRepository;
     private final CommentRepository commentRepository;
+    private final TimelineService timelineService;
+    private final FeedScorer feedScorer;
+    private final FeedCache feedCache;
+    private final FollowRepository followRepository;
+    private final FanoutPolicy fanoutPolicy;
+    private final PostCounterService postCounterService;
+    private final LikeIndex likeIndex;
+    private final TrendingTracker trendingTracker;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${feed.timeline.head-size}")
+    private int feedHeadSize;
+
+    @Value("${feed.window-days}")
+    private int feedWindowDays;
+
+    @Value("${feed.max-rows}")
+    private int feedMaxRows;
+
+    @Value("${feed.page.max-size}")
+    private int feedPageMaxSize;
+
+    @Value("${feed.rank.max-size}")
+    private int rankedFeedMaxSize;
+
+    @Value("${posts.batch.max-size}")
+    private int batchMaxSize;
 
     @Autowired
-    public PostServiceImpl(PostRepository postRepository, UserRepository userRepository, FollowService followService, LikeRepository likeRepository, CommentRepository commentRepository) {
+    public PostServiceImpl(
+            PostRepository postRepository,
+            UserRepository userRepository,
+            LikeRepository likeRepository,
+            CommentRepository commentRepository,
+            FollowRepository followRepository,
+            TimelineService timelineService,
+            FeedScorer feedScorer,
+            FeedCache feedCache,
+            FanoutPolicy fanoutPolicy,
+            PostCounterService postCounterService,
+            LikeIndex likeIndex,
+            TrendingTracker trendingTracker) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
-        this.followService = followService;
         this.likeRepository = likeRepository;
         this.commentRepository = commentRepository;
+        this.timelineService = timelineService;
+        this.feedScorer = feedScorer;
+        this.feedCache = feedCache;
+        this.followRepository = followRepository;
+        this.fanoutPolicy = fanoutPolicy;
+        this.postCounterService = postCounterService;
+        this.likeIndex = likeIndex;
+        this.trendingTracker = trendingTracker;
         log.info("PostServiceImpl initialized");
     }
 
@@ -51,6 +127,14 @@ public class PostServiceImpl implements PostService {
         post.setUser(user);
 
         Post savedPost = postRepository.save(post);
+        postCounterService.createCounter(savedPost.getPostId());
+        if (fanoutPolicy.shouldPush(user.getUserId())) {
+            timelineService.fanOut(savedPost);
+        } else {
+            // Followers pick this post up at read time
+            timelineService.addToAuthorTimeline(savedPost);
+        }
+        invalidateFeedsOf(user.getUserId());
 
         log.info("Post created successfully with ID: {}", savedPost.getPostId());
         return savedPost;
@@ -59,7 +143,9 @@ public class PostServiceImpl implements PostService {
     @Override
     public Optional<Post> findById(int postId) {
         log.debug("Finding post by ID: {}", postId);
-        return postRepository.findById(postId);
+        Optional<Post> post = postRepository.findById(postId);
+        post.ifPresent(found -> postCounterService.applyCounts(List.of(found)));
+        return post;
     }
 
     @Override
@@ -67,6 +153,7 @@ public class PostServiceImpl implements PostService {
         log.debug("Finding posts for user ID: {}", userId);
         List<Post> posts = postRepository.findByUser_UserId(userId);
         log.debug("Found {} posts for user ID: {}", posts.size(), userId);
+        postCounterService.applyCounts(posts);
         return posts;
     }
 
@@ -75,16 +162,38 @@ public class PostServiceImpl implements PostService {
         log.debug("Retrieving all posts");
         List<Post> posts = postRepository.findAll();
         log.debug("Found {} posts", posts.size());
+        postCounterService.applyCounts(posts);
+        return posts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Post> findAllPosts(Pageable pageable) {
+        log.debug("Retrieving posts page {} of size {}", pageable.getPageNumber(), pageable.getPageSize());
+        Page<Post> posts = postRepository.findAll(pageable);
+        postCounterService.applyCounts(posts.getContent());
         return posts;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllPosts(Consumer<Post> consumer) {
+        log.debug("Streaming all posts");
+        EntityStreams.forEachChunk(postRepository.streamAll(), entityManager, chunk -> {
+            postCounterService.applyCounts(chunk);
+            chunk.forEach(consumer);
+        });
+    }
+
     @Override
     public Post updatePost(Post post) {
         log.info("Updating post with ID: {}", post.getPostId());
-        if (!postRepository.existsById(post.getPostId())) {
-            log.error("Post not found with ID: {}", post.getPostId());
-            throw new RuntimeException("Post not found with id: " + post.getPostId());
-        }
+        Post existingPost = postRepository.findById(post.getPostId())
+                .orElseThrow(() -> {
+                    log.error("Post not found with ID: {}", post.getPostId());
+                    return new RuntimeException("Post not found with id: " + post.getPostId());
+                });
+        invalidateFeedsOf(existingPost.getUser().getUserId());
         Post updatedPost = postRepository.save(post);
         log.info("Post updated successfully: {}", post.getPostId());
         return updatedPost;
@@ -93,8 +202,14 @@ public class PostServiceImpl implements PostService {
     @Override
     public void deletePost(int postId) {
         log.info("Deleting post with ID: {}", postId);
+        postRepository.findById(postId)
+                .ifPresent(post -> invalidateFeedsOf(post.getUser().getUserId()));
         commentRepository.deleteByPost_PostId(postId);
         likeRepository.deleteByPost_PostId(postId);
+        timelineService.retractPost(postId);
+        postCounterService.removeCounter(postId);
+        likeIndex.removePostAfterCommit(postId);
+        trendingTracker.removePost(postId);
         postRepository.deleteById(postId);
         log.info("Post deleted successfully: {}", postId);
     }
@@ -102,15 +217,209 @@ public class PostServiceImpl implements PostService {
     @Override
     public List<Post> loadFeed(int userId) {
         log.info("Loading feed for user ID: {}", userId);
+        List<Post> posts = copyOf(feedCache.getOrLoad(userId, "head", () -> pullAuthorsFollowedBy(userId), () -> buildFeed(userId)));
+        postCounterService.applyCounts(posts);
+        return posts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Post> loadFeedPage(int userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, feedPageMaxSize));
+        log.debug("Loading feed page for user ID: {} with page size {}", userId, pageSize);
+        String view = "page:" + pageSize + ":" + (cursor == null ? "" : cursor);
+        CursorPage<Post> cached = feedCache.getOrLoad(userId, view,
+                () -> pullAuthorsFollowedBy(userId), () -> buildFeedPage(userId, cursor, pageSize));
+        CursorPage<Post> page = new CursorPage<>(copyOf(cached.getItems()), cached.getNextCursor());
+        postCounterService.applyCounts(page.getItems());
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Post> loadRankedFeed(int userId, int limit) {
+        int k = Math.max(1, Math.min(limit, rankedFeedMaxSize));
+        log.info("Loading ranked feed for user ID: {} (top {})", userId, k);
+        List<Post> posts = copyOf(feedCache.getOrLoad(userId, "ranked:" + k,
+                () -> pullAuthorsFollowedBy(userId), () -> buildRankedFeed(userId, k)));
+        postCounterService.applyCounts(posts);
+        return posts;
+    }
+
+    @Override
+    public Map<String, Long> getFeedStats() {
+        Map<String, Long> stats = new HashMap<>();
+        feedCache.stats().forEach((name, value) -> stats.put("cache." + name, value));
+        fanoutPolicy.stats().forEach((name, value) -> stats.put("fanout." + name, value));
+        stats.put("trending.trackedPosts", (long) trendingTracker.trackedPosts());
+        return stats;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Post> findTrendingPosts(int limit) {
+        List<Integer> postIds = trendingTracker.top(Math.max(0, limit));
+        log.debug("Loading {} trending posts", postIds.size());
+        List<Post> posts = findPostsInOrder(postIds);
+        postCounterService.applyCounts(posts);
+        return posts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostCardDTO> findPostCards(List<Integer> postIds, int viewerId) {
+        if (postIds.size() > batchMaxSize) {
+            throw new RuntimeException("At most " + batchMaxSize + " posts can be requested at once");
+        }
+        log.debug("Hydrating {} post cards for viewer ID: {}", postIds.size(), viewerId);
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+
+        // At most three queries regardless of batch size: posts with authors, counters, viewer likes
+        List<Post> posts = findPostsInOrder(postIds.stream().distinct().toList());
+        postCounterService.applyCounts(posts);
+        Set<Integer> liked = likeIndex.isReady()
+                ? likeIndex.likedAmong(viewerId, postIds)
+                : new HashSet<>(likeRepository.findLikedPostIds(viewerId, postIds));
+
+        return posts.stream()
+                .map(post -> new PostCardDTO(post, liked.contains(post.getPostId())))
+                .toList();
+    }
+
+    private List<Post> buildFeed(int userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        List<Follow> followers = followService.getFollowers(userId);
-        List<Post> posts = postRepository.findByUser_UserId(userId);
-        followers.forEach(follower -> {
-            posts.addAll(postRepository.findByUser_UserId(follower.getUser().getUserId()));
-        });
-        Collections.shuffle(posts);
-        log.info("Loaded feed for user ID: {}", userId);
+
+        if (!timelineService.hasTimeline(userId)) {
+            LocalDateTime since = LocalDateTime.now().minusDays(feedWindowDays);
+            List<Post> posts = assembleFeed(userId, since);
+            timelineService.seed(userId, since);
+            fanoutPolicy.recordAssembledFeed();
+            log.info("Loaded feed for user ID: {} from followed users", userId);
+            return posts.stream().limit(feedHeadSize).toList();
+        }
+
+        List<Post> posts = findPostsInOrder(timelineService.readHead(userId, feedHeadSize));
+
+        List<Integer> pullAuthors = pullAuthorsFollowedBy(userId);
+        if (pullAuthors.isEmpty()) {
+            fanoutPolicy.recordPushFeed();
+            log.info("Loaded feed for user ID: {} from timeline ({} posts)", userId, posts.size());
+            return posts;
+        }
+
+        List<Post> pulled = postRepository.findRecentByAuthorIds(pullAuthors,
+                LocalDateTime.now().minusDays(feedWindowDays), PageRequest.of(0, feedHeadSize));
+        List<Post> merged = mergeNewestFirst(posts, pulled, feedHeadSize);
+        fanoutPolicy.recordHybridFeed();
+        log.info("Loaded feed for user ID: {} from timeline and {} pull authors ({} posts)", userId, pullAuthors.size(), merged.size());
+        return merged;
+    }
+
+    private CursorPage<Post> buildFeedPage(int userId, String cursor, int pageSize) {
+        // Fetch one extra row to learn whether another page exists
+        PageRequest request = PageRequest.of(0, pageSize + 1);
+        List<Post> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findFeedPage(userId, request);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            posts = postRepository.findFeedPageAfter(userId, after.getCreatedAt(), after.getId(), request);
+        }
+
+        if (posts.size() <= pageSize) {
+            return new CursorPage<>(posts, null);
+        }
+        List<Post> page = new ArrayList<>(posts.subList(0, pageSize));
+        Post last = page.get(pageSize - 1);
+        return new CursorPage<>(page, new KeysetCursor(last.getCreatedAt(), last.getPostId()).encode());
+    }
+
+    private List<Post> buildRankedFeed(int userId, int k) {
+        Map<Integer, Long> affinity = new HashMap<>();
+        for (Object[] row : likeRepository.countLikesByAuthorForUser(userId)) {
+            affinity.put((Integer) row[0], (Long) row[1]);
+        }
+
+        // Candidates are streamed through a bounded heap, so only the top k are ever retained
+        LocalDateTime now = LocalDateTime.now();
+        TopKSelector<Integer> selector = new TopKSelector<>(k);
+        try (Stream<FeedCandidate> candidates = postRepository.streamFeedCandidates(userId, now.minusDays(feedWindowDays))) {
+            candidates.forEach(candidate -> {
+                candidate.setAuthorAffinity(affinity.getOrDefault(candidate.getAuthorId(), 0L));
+                selector.offer(candidate.getPostId(), feedScorer.score(candidate, now));
+            });
+        }
+
+        List<Post> posts = findPostsInOrder(selector.drainDescending());
+        log.info("Loaded ranked feed for user ID: {} ({} posts)", userId, posts.size());
         return posts;
     }
+
+    // Builds the feed from scratch for users whose timeline has not been materialized yet
+    private List<Post> assembleFeed(int userId, LocalDateTime since) {
+        return postRepository.findFeedPosts(userId, since, PageRequest.of(0, feedMaxRows));
+    }
+
+    private List<Post> findPostsInOrder(List<Integer> postIds) {
+        Map<Integer, Post> postsById = postRepository.findAllWithUserByPostIdIn(postIds).stream()
+                .collect(Collectors.toMap(Post::getPostId, Function.identity()));
+        return postIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Cached feeds are shared between requests, so counts are applied to per-request copies only
+    private static List<Post> copyOf(List<Post> posts) {
+        return posts.stream()
+                .map(post -> new Post(post.getPostId(), post.getUser(), post.getDescription(), post.getCreatedAt(),
+                        post.getUpdatedAt(), post.getMedia1(), post.getMedia2(), post.getMedia3(),
+                        post.getLearningUpdate(), post.getLikeCount(), post.getCommentCount()))
+                .toList();
+    }
+
+    // Merges two lists already ordered by (createdAt, postId) descending, dropping duplicates
+    private List<Post> mergeNewestFirst(List<Post> first, List<Post> second, int limit) {
+        Comparator<Post> newestFirst = Comparator.comparing(Post::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Post::getPostId, Comparator.reverseOrder());
+        List<Post> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        Set<Integer> seen = new HashSet<>();
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            Post next;
+            if (j >= second.size() || (i < first.size() && newestFirst.compare(first.get(i), second.get(j)) <= 0)) {
+                next = first.get(i++);
+            } else {
+                next = second.get(j++);
+            }
+            if (seen.add(next.getPostId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    private List<Integer> pullAuthorsFollowedBy(int userId) {
+        if (!fanoutPolicy.hasPullAuthors()) {
+            return List.of();
+        }
+        return fanoutPolicy.pullAuthorsAmong(followRepository.findFollowingIdsByUserId(userId));
+    }
+
+    // The author's own feed and those of all their followers include this author's posts. Followers
+    // of pull authors are not enumerated; their cached pages check the author's generation on read.
+    private void invalidateFeedsOf(int authorId) {
+        if (fanoutPolicy.isPullAuthor(authorId)) {
+            feedCache.invalidateAuthorAfterCommit(authorId);
+            feedCache.invalidateAfterCommit(List.of(authorId));
+            return;
+        }
+        List<Integer> readers = new ArrayList<>(followRepository.findFollowerIdsByUserId(authorId));
+        readers.add(authorId);
+        feedCache.invalidateAfterCommit(readers);
+    }
 }
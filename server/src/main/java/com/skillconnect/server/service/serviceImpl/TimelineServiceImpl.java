@@ -0,0 +1,131 @@
+package com.skillconnect.server.service.serviceImpl;
+
+import com.skillconnect.server.model.Post;
+import com.skillconnect.server.repository.TimelineRepository;
+import com.skillconnect.server.repository.TimelineStateRepository;
+import com.skillconnect.server.service.TimelineService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Log4j2
+@Service
+@Transactional
+public class TimelineServiceImpl implements TimelineService {
+
+    private final TimelineRepository timelineRepository;
+    private final TimelineStateRepository timelineStateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${feed.timeline.max-size}")
+    private int maxSize;
+
+    @Value("${feed.timeline.backfill-size}")
+    private int backfillSize;
+
+    @Value("${feed.window-days}")
+    private int feedWindowDays;
+
+    @Autowired
+    public TimelineServiceImpl(TimelineRepository timelineRepository, TimelineStateRepository timelineStateRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.timelineRepository = timelineRepository;
+        this.timelineStateRepository = timelineStateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        log.info("TimelineServiceImpl initialized");
+    }
+
+    @Override
+    public void fanOut(Post post) {
+        int authorId = post.getUser().getUserId();
+        int inserted = timelineRepository.fanOut(post.getPostId(), authorId, post.getCreatedAt());
+        log.debug("Fanned out post ID {} by user ID {} to {} timelines", post.getPostId(), authorId, inserted);
+    }
+
+    @Override
+    public void addToAuthorTimeline(Post post) {
+        int authorId = post.getUser().getUserId();
+        int inserted = timelineRepository.addToOwnTimeline(post.getPostId(), authorId, post.getCreatedAt());
+        log.debug("Added post ID {} to {} timelines of its author ID {} only", post.getPostId(), inserted, authorId);
+    }
+
+    @Override
+    public void retractPost(int postId) {
+        int removed = timelineRepository.deleteByPostId(postId);
+        log.debug("Retracted post ID {} from {} timelines", postId, removed);
+    }
+
+    @Override
+    public void retractAuthor(int ownerId, int authorId) {
+        int removed = timelineRepository.deleteByOwnerIdAndAuthorId(ownerId, authorId);
+        log.debug("Removed {} posts by user ID {} from timeline of user ID {}", removed, authorId, ownerId);
+    }
+
+    @Override
+    public void backfillAuthor(int ownerId, int authorId) {
+        int inserted = timelineRepository.backfill(ownerId, authorId, backfillSize);
+        log.debug("Backfilled {} posts by user ID {} into timeline of user ID {}", inserted, authorId, ownerId);
+    }
+
+    @Override
+    public void backfillFollowers(int authorId) {
+        LocalDateTime since = LocalDateTime.now().minusDays(feedWindowDays);
+        int inserted = timelineRepository.backfillFollowers(authorId, since, backfillSize);
+        log.info("Backfilled {} timeline entries from followers of user ID {}", inserted, authorId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> readHead(int ownerId, int limit) {
+        return timelineRepository.findHeadPostIds(ownerId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasTimeline(int ownerId) {
+        return timelineStateRepository.existsById(ownerId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void seed(int ownerId, LocalDateTime since) {
+        // The marker is committed first so that posts committed from here on are fanned out to this owner,
+        // and the posts are read afterwards so that everything committed before is picked up by the fill
+        Integer marked = transactionTemplate.execute(status -> timelineStateRepository.markSeeded(ownerId));
+        if (marked == null || marked == 0) {
+            log.debug("Timeline for user ID {} was already seeded", ownerId);
+            return;
+        }
+        try {
+            Integer inserted = transactionTemplate.execute(status -> {
+                // Rows written before the timeline was tracked as seeded are replaced by the assembled feed
+                timelineRepository.deleteByOwnerId(ownerId);
+                return timelineRepository.seed(ownerId, since, maxSize);
+            });
+            log.info("Seeded timeline for user ID {} with {} posts", ownerId, inserted);
+        } catch (RuntimeException e) {
+            // Without the marker the next read assembles the feed and seeds again
+            transactionTemplate.executeWithoutResult(status -> timelineStateRepository.deleteById(ownerId));
+            throw e;
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${feed.timeline.trim-interval-ms}")
+    public void trimTimelines() {
+        int removed = timelineRepository.trimTo(maxSize);
+        if (removed > 0) {
+            log.info("Trimmed {} timeline entries beyond {} per user", removed, maxSize);
+        }
+    }
+}
@@ -5,7 +5,12 @@ import com.skillconnect.server.repository.UserRepository;
 import com.skillconnect.server.security.JwtTokenUtil;
 import com.skillconnect.server.service.OAuthService;
 import com.skillconnect.server.service.UserService;
+import com.skillconnect.server.util.EntityStreams;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.log4j.Log4j2;
@@ -14,6 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Log4j2
 @Service
@@ -23,6 +29,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final JwtTokenUtil jwtTokenUtil;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public UserServiceImpl(UserRepository userRepository, JwtTokenUtil jwtTokenUtil) {
         this.userRepository = userRepository;
@@ -68,6 +77,20 @@ public class UserServiceImpl implements UserService {
         return users;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<User> findAllUsers(Pageable pageable) {
+        log.debug("Retrieving users page {} of size {}", pageable.getPageNumber(), pageable.getPageSize());
+        return userRepository.findAll(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<User> consumer) {
+        log.debug("Streaming all users");
+        EntityStreams.forEachChunk(userRepository.streamAll(), entityManager, chunk -> chunk.forEach(consumer));
+    }
+
     @Override
     public void deleteUser(int userId) {
         log.info("Deleting user with ID: {}", userId);
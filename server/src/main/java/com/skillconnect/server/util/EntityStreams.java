@@ -0,0 +1,37 @@
+package com.skillconnect.server.util;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public final class EntityStreams {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private EntityStreams() {
+    }
+
+    /**
+     * Hands the entities of a database cursor to the consumer in chunks of {@link #CHUNK_SIZE},
+     * clearing the persistence context after each chunk so memory stays flat however large the table is.
+     */
+    public static <T> void forEachChunk(Stream<T> entities, EntityManager entityManager, Consumer<List<T>> consumer) {
+        List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (entities) {
+            entities.forEach(entity -> {
+                chunk.add(entity);
+                if (chunk.size() == CHUNK_SIZE) {
+                    consumer.accept(chunk);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            });
+        }
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Fills in created_at on legacy Posts and Comments rows that predate the @PrePersist timestamps.
+-- Keyset pages leave such rows out, since a cursor cannot point at them; run once to bring them back:
+--   psql -v ON_ERROR_STOP=1 -f backfill-created-at.sql
+-- Rows take their updated_at when there is one and otherwise sort as the oldest.
+
+begin;
+
+update posts set created_at = coalesce(updated_at, timestamp '1970-01-01 00:00:00') where created_at is null;
+
+update comments set created_at = coalesce(updated_at, timestamp '1970-01-01 00:00:00') where created_at is null;
+
+commit;
@@ -0,0 +1,14 @@
+-- Removes duplicate Follows rows so the unique (follower_id, user_id) constraint on Follow can be created.
+-- Run once before deploying the matching server version; ddl-auto then adds the constraint at startup:
+--   psql -v ON_ERROR_STOP=1 -f dedupe-follows.sql
+-- The oldest row of each pair is kept. Follow counters are corrected by the next reconcile.
+
+begin;
+
+delete from follows f
+using follows kept
+where kept.follower_id = f.follower_id
+  and kept.user_id = f.user_id
+  and kept.follow_id < f.follow_id;
+
+commit;
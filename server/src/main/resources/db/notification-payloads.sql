@@ -0,0 +1,22 @@
+-- Moves notifications to structured payloads (actor, verb, target type, target ID) rendered at read time.
+-- Run once before deploying the matching server version:
+--   psql -v ON_ERROR_STOP=1 -f notification-payloads.sql
+-- Existing notifications keep their stored content; new ones leave it null.
+-- Works on both the plain and the partitioned table: on a partitioned one the column changes apply
+-- to every partition. When partitioning, run partition-notifications.sql first, since it copies
+-- only the columns that existed before this script.
+
+begin;
+
+alter table notifications add column if not exists target_type varchar(255);
+alter table notifications add column if not exists actor_id integer;
+alter table notifications alter column content drop not null;
+
+-- Pending outbox rows only need their target type; names and post text are looked up when rendering
+alter table notification_outbox add column if not exists target_type varchar(255);
+update notification_outbox set target_type = case verb when 'FOLLOW' then 'USER' else 'POST' end
+where target_type is null;
+alter table notification_outbox drop column if exists actor_name;
+alter table notification_outbox drop column if exists content;
+
+commit;
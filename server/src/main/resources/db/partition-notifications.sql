@@ -0,0 +1,57 @@
+-- Converts the Notifications table into one partitioned by month on created_at.
+-- Run once, during a maintenance window, against the application database:
+--   psql -v ON_ERROR_STOP=1 -f partition-notifications.sql
+-- Afterwards NotificationPartitionService creates upcoming partitions and drops expired ones.
+
+begin;
+
+alter table notifications rename to notifications_legacy;
+alter index if exists idx_notifications_aggregate rename to idx_notifications_aggregate_legacy;
+
+-- The partition key has to be part of the primary key
+create table notifications (
+    notification_id  integer generated by default as identity,
+    user_id          integer   not null references users (user_id),
+    content          text      not null,
+    is_read          boolean   not null,
+    created_at       timestamp not null,
+    updated_at       timestamp,
+    verb             varchar(255),
+    target_id        integer,
+    actor_count      integer default 1,
+    latest_actor_ids varchar(255),
+    primary key (notification_id, created_at)
+) partition by range (created_at);
+
+create index idx_notifications_aggregate on notifications (user_id, verb, target_id, is_read, created_at);
+
+-- Catches rows outside every monthly partition; it should stay empty
+create table notifications_default partition of notifications default;
+
+-- One partition per month that holds data, up to and including next month
+do $$
+declare
+    month date;
+    last_month date := date_trunc('month', now()) + interval '1 month';
+begin
+    select coalesce(date_trunc('month', min(created_at)), date_trunc('month', now()))
+    into month from notifications_legacy;
+    while month <= last_month loop
+        execute format('create table notifications_p%s partition of notifications for values from (%L) to (%L)',
+                       to_char(month, 'YYYYMM'), month, month + interval '1 month');
+        month := month + interval '1 month';
+    end loop;
+end $$;
+
+insert into notifications (notification_id, user_id, content, is_read, created_at, updated_at,
+                           verb, target_id, actor_count, latest_actor_ids)
+select notification_id, user_id, content, is_read, coalesce(created_at, now()), updated_at,
+       verb, target_id, actor_count, latest_actor_ids
+from notifications_legacy;
+
+select setval(pg_get_serial_sequence('notifications', 'notification_id'),
+              coalesce((select max(notification_id) from notifications), 0) + 1, false);
+
+drop table notifications_legacy;
+
+commit;
@@ -0,0 +1,108 @@
+package com.skillconnect.server.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoundedTtlCacheTest {
+
+    private static final Duration LONG_TTL = Duration.ofMinutes(10);
+
+    @Test
+    void evictsLeastRecentlyUsedOnceWeightIsExceeded() {
+        BoundedTtlCache<String, List<Integer>> cache = new BoundedTtlCache<>(5, LONG_TTL, List::size);
+        cache.put("a", List.of(1, 2));
+        cache.put("b", List.of(1, 2));
+        // Reading a makes b the least recently used entry
+        cache.get("a");
+        cache.put("c", List.of(1, 2));
+
+        assertNull(cache.get("b"));
+        assertEquals(List.of(1, 2), cache.get("a"));
+        assertEquals(List.of(1, 2), cache.get("c"));
+        assertEquals(4L, cache.stats().get("weight"));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void replacingAnEntryReplacesItsWeight() {
+        BoundedTtlCache<String, List<Integer>> cache = new BoundedTtlCache<>(5, LONG_TTL, List::size);
+        cache.put("a", List.of(1, 2, 3));
+        cache.put("a", List.of(1));
+
+        assertEquals(1L, cache.stats().get("weight"));
+        cache.invalidate("a");
+        assertEquals(0L, cache.stats().get("weight"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void entryHeavierThanTheLimitIsNotCached() {
+        BoundedTtlCache<String, List<Integer>> cache = new BoundedTtlCache<>(2, LONG_TTL, List::size);
+        cache.put("small", List.of(1));
+        cache.put("large", List.of(1, 2, 3));
+
+        assertNull(cache.get("large"));
+        assertEquals(List.of(1), cache.get("small"));
+    }
+
+    @Test
+    void emptyValuesStillCountTowardsTheLimit() {
+        BoundedTtlCache<Integer, List<Integer>> cache = new BoundedTtlCache<>(3, LONG_TTL, List::size);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, List.of());
+        }
+
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void expiredEntriesAreMissesAndReleaseTheirWeight() throws InterruptedException {
+        BoundedTtlCache<String, List<Integer>> cache = new BoundedTtlCache<>(10, Duration.ofMillis(20), List::size);
+        cache.put("a", List.of(1, 2));
+        Thread.sleep(50);
+
+        assertNull(cache.get("a"));
+        assertEquals(0L, cache.stats().get("weight"));
+        assertEquals(1L, cache.stats().get("expirations"));
+    }
+
+    @Test
+    void getOrLoadLoadsOnceWhileTheEntryLives() {
+        BoundedTtlCache<Integer, List<Integer>> cache = new BoundedTtlCache<>(10, LONG_TTL, List::size);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(List.of(7), cache.getOrLoad(7, key -> {
+                loads.incrementAndGet();
+                return List.of(key);
+            }));
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(2L, cache.stats().get("hits"));
+    }
+
+    @Test
+    void nullLoadsAreNotCached() {
+        BoundedTtlCache<Integer, List<Integer>> cache = new BoundedTtlCache<>(10, LONG_TTL, List::size);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(1, key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        cache.getOrLoad(1, key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.skillconnect.server.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000), 42);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripsWholeMinutes() {
+        // LocalDateTime prints these without seconds
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 1, 1, 0, 0), 7);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new KeysetCursor(LocalDateTime.of(2025, 12, 31, 23, 59, 59), Integer.MAX_VALUE).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        assertFalse(token.endsWith("="));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertInvalid("not base64!");
+        assertInvalid(encodeRaw("2025-01-01T00:00"));
+        assertInvalid(encodeRaw("yesterday|5"));
+        assertInvalid(encodeRaw("2025-01-01T00:00|five"));
+        assertInvalid(encodeRaw("null|5"));
+    }
+
+    @Test
+    void refusesToEncodeARowWithoutCreatedAt() {
+        assertThrows(IllegalStateException.class, () -> new KeysetCursor(null, 5).encode());
+    }
+
+    private static void assertInvalid(String token) {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> KeysetCursor.decode(token));
+        assertEquals("Invalid cursor: " + token, error.getMessage());
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
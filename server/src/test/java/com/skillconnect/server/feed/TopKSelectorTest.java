@@ -0,0 +1,71 @@
+package com.skillconnect.server.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopKSelectorTest {
+
+    @Test
+    void keepsHighestScoresInDescendingOrder() {
+        TopKSelector<String> selector = new TopKSelector<>(3);
+        selector.offer("a", 1.0);
+        selector.offer("b", 5.0);
+        selector.offer("c", 3.0);
+        selector.offer("d", 4.0);
+        selector.offer("e", 0.5);
+
+        assertEquals(3, selector.size());
+        assertEquals(List.of("b", "d", "c"), selector.drainDescending());
+        assertEquals(0, selector.size());
+    }
+
+    @Test
+    void returnsEverythingWhenFewerThanK() {
+        TopKSelector<Integer> selector = new TopKSelector<>(10);
+        selector.offer(1, 2.0);
+        selector.offer(2, 7.0);
+
+        assertEquals(List.of(2, 1), selector.drainDescending());
+    }
+
+    @Test
+    void scoreEqualToTheSmallestRetainedDoesNotReplaceIt() {
+        TopKSelector<String> selector = new TopKSelector<>(2);
+        selector.offer("first", 1.0);
+        selector.offer("second", 2.0);
+        selector.offer("late", 1.0);
+
+        assertEquals(List.of("second", "first"), selector.drainDescending());
+    }
+
+    @Test
+    void matchesFullSortOnRandomInput() {
+        Random random = new Random(42);
+        List<double[]> items = new ArrayList<>();
+        TopKSelector<Integer> selector = new TopKSelector<>(25);
+        for (int i = 0; i < 10_000; i++) {
+            double score = random.nextDouble();
+            items.add(new double[]{i, score});
+            selector.offer(i, score);
+        }
+        items.sort(Comparator.comparingDouble((double[] item) -> item[1]).reversed());
+
+        List<Integer> expected = new ArrayList<>();
+        for (double[] item : items.subList(0, 25)) {
+            expected.add((int) item[0]);
+        }
+        assertEquals(expected, selector.drainDescending());
+    }
+
+    @Test
+    void rejectsNonPositiveK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopKSelector<>(0));
+    }
+}
@@ -0,0 +1,141 @@
+package com.skillconnect.server.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdjacencyTest {
+
+    private static FollowGraph.Adjacency build(int[][] edges) {
+        int[] sources = new int[edges.length];
+        int[] targets = new int[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            sources[i] = edges[i][0];
+            targets[i] = edges[i][1];
+        }
+        return FollowGraph.Adjacency.build(sources, targets, edges.length);
+    }
+
+    @Test
+    void buildSortsRowsAndDropsDuplicateEdges() {
+        FollowGraph.Adjacency adjacency = build(new int[][]{{2, 9}, {0, 5}, {2, 3}, {2, 9}, {0, 1}});
+
+        assertArrayEquals(new int[]{1, 5}, adjacency.neighbors(0));
+        assertArrayEquals(new int[0], adjacency.neighbors(1));
+        assertArrayEquals(new int[]{3, 9}, adjacency.neighbors(2));
+        assertEquals(2, adjacency.degree(2));
+        assertTrue(adjacency.contains(2, 9));
+        assertFalse(adjacency.contains(9, 2));
+    }
+
+    @Test
+    void sourcesBeyondTheBaseHaveNoNeighbors() {
+        FollowGraph.Adjacency adjacency = build(new int[][]{{1, 2}});
+
+        assertArrayEquals(new int[0], adjacency.neighbors(50));
+        assertEquals(0, adjacency.degree(50));
+        assertFalse(adjacency.contains(50, 1));
+        assertArrayEquals(new int[0], FollowGraph.Adjacency.EMPTY.neighbors(0));
+    }
+
+    @Test
+    void overlayAddsAndRemovesEdgesWithoutTouchingTheBase() {
+        FollowGraph.Adjacency base = build(new int[][]{{1, 2}, {1, 4}, {1, 6}});
+
+        FollowGraph.Adjacency changed = base.withEdge(1, 5).withEdge(1, 0).withoutEdge(1, 4).withEdge(3, 1);
+
+        assertArrayEquals(new int[]{0, 2, 5, 6}, changed.neighbors(1));
+        assertArrayEquals(new int[]{1}, changed.neighbors(3));
+        assertEquals(4, changed.degree(1));
+        assertFalse(changed.contains(1, 4));
+        assertTrue(changed.contains(1, 5));
+        assertEquals(4, changed.overlaySize());
+        // Snapshots are immutable
+        assertArrayEquals(new int[]{2, 4, 6}, base.neighbors(1));
+        assertEquals(0, base.overlaySize());
+    }
+
+    @Test
+    void redundantChangesReturnTheSameSnapshot() {
+        FollowGraph.Adjacency base = build(new int[][]{{1, 2}});
+
+        assertSame(base, base.withEdge(1, 2));
+        assertSame(base, base.withoutEdge(1, 3));
+        assertSame(base, base.withEdge(-1, 2));
+        assertSame(base, base.withEdge(1, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void readdingARemovedBaseEdgeClearsTheOverlay() {
+        FollowGraph.Adjacency base = build(new int[][]{{1, 2}});
+
+        FollowGraph.Adjacency restored = base.withoutEdge(1, 2).withEdge(1, 2);
+        FollowGraph.Adjacency undone = base.withEdge(1, 3).withoutEdge(1, 3);
+
+        assertEquals(0, restored.overlaySize());
+        assertArrayEquals(new int[]{2}, restored.neighbors(1));
+        assertEquals(0, undone.overlaySize());
+        assertArrayEquals(new int[]{2}, undone.neighbors(1));
+    }
+
+    @Test
+    void compactFoldsTheOverlayIntoTheBase() {
+        FollowGraph.Adjacency changed = build(new int[][]{{0, 1}, {2, 3}, {2, 4}})
+                .withoutEdge(2, 3)
+                .withEdge(2, 7)
+                .withEdge(5, 0);
+
+        FollowGraph.Adjacency compacted = changed.compact();
+
+        assertEquals(0, compacted.overlaySize());
+        for (int node = 0; node <= 6; node++) {
+            assertArrayEquals(changed.neighbors(node), compacted.neighbors(node), "row " + node);
+        }
+        assertArrayEquals(new int[]{4, 7}, compacted.neighbors(2));
+        assertArrayEquals(new int[]{0}, compacted.neighbors(5));
+    }
+
+    @Test
+    void matchesASetOfEdgesUnderRandomChangesAndCompactions() {
+        Random random = new Random(11);
+        int nodes = 40;
+        Set<Long> expected = new TreeSet<>();
+        FollowGraph.Adjacency adjacency = FollowGraph.Adjacency.EMPTY;
+        for (int step = 0; step < 5_000; step++) {
+            int source = random.nextInt(nodes);
+            int target = random.nextInt(nodes);
+            if (random.nextInt(3) > 0) {
+                adjacency = adjacency.withEdge(source, target);
+                expected.add((long) source * nodes + target);
+            } else {
+                adjacency = adjacency.withoutEdge(source, target);
+                expected.remove((long) source * nodes + target);
+            }
+            if (step % 500 == 499) {
+                adjacency = adjacency.compact();
+            }
+        }
+
+        for (int source = 0; source < nodes; source++) {
+            int row = source;
+            int[] targets = expected.stream()
+                    .filter(edge -> edge / nodes == row)
+                    .mapToInt(edge -> (int) (edge % nodes))
+                    .toArray();
+            assertArrayEquals(targets, adjacency.neighbors(source), "row " + source);
+            assertEquals(targets.length, adjacency.degree(source));
+            for (int target = 0; target < nodes; target++) {
+                assertEquals(Arrays.binarySearch(targets, target) >= 0, adjacency.contains(source, target));
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.skillconnect.server.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntBitmapTest {
+
+    @Test
+    void addRemoveAndContainsAcrossChunks() {
+        IntBitmap bitmap = new IntBitmap();
+        assertTrue(bitmap.add(3));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.add(Integer.MAX_VALUE));
+        assertFalse(bitmap.add(70_000));
+
+        assertTrue(bitmap.contains(3));
+        assertTrue(bitmap.contains(70_000));
+        assertTrue(bitmap.contains(Integer.MAX_VALUE));
+        assertFalse(bitmap.contains(4));
+        assertFalse(bitmap.contains(-1));
+        assertEquals(3, bitmap.cardinality());
+
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(-1));
+        assertFalse(bitmap.contains(70_000));
+        assertEquals(2, bitmap.cardinality());
+    }
+
+    @Test
+    void removingTheLastValueEmptiesTheBitmap() {
+        IntBitmap bitmap = new IntBitmap();
+        bitmap.add(1);
+        bitmap.add(65_537);
+        bitmap.remove(1);
+        bitmap.remove(65_537);
+
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, containerCount(bitmap));
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new IntBitmap().add(-5));
+    }
+
+    @Test
+    void chunkTurnsIntoBitmapAboveArrayMaxAndBackAtIt() {
+        IntBitmap bitmap = new IntBitmap();
+        // Every other value, so both storages have gaps to get wrong
+        for (int i = 0; i < IntBitmap.ARRAY_MAX; i++) {
+            bitmap.add(i * 2);
+        }
+        assertEquals("ArrayContainer", containerType(bitmap));
+
+        bitmap.add(IntBitmap.ARRAY_MAX * 2);
+        assertEquals("BitmapContainer", containerType(bitmap));
+        assertEquals(IntBitmap.ARRAY_MAX + 1, bitmap.cardinality());
+        assertSetEvens(bitmap, IntBitmap.ARRAY_MAX + 1);
+
+        bitmap.remove(0);
+        assertEquals("ArrayContainer", containerType(bitmap));
+        assertEquals(IntBitmap.ARRAY_MAX, bitmap.cardinality());
+        assertFalse(bitmap.contains(0));
+        for (int i = 1; i <= IntBitmap.ARRAY_MAX; i++) {
+            assertTrue(bitmap.contains(i * 2), "missing " + i * 2);
+            assertFalse(bitmap.contains(i * 2 + 1), "unexpected " + (i * 2 + 1));
+        }
+
+        // And over the threshold again from the converted array
+        bitmap.add(1);
+        assertEquals("BitmapContainer", containerType(bitmap));
+        assertTrue(bitmap.contains(1));
+    }
+
+    @Test
+    void matchesHashSetAroundTheThreshold() {
+        Random random = new Random(7);
+        IntBitmap bitmap = new IntBitmap();
+        Set<Integer> expected = new HashSet<>();
+        // Two chunks with about ARRAY_MAX values each, so conversions happen in both directions many times
+        for (int i = 0; i < 200_000; i++) {
+            int value = (random.nextBoolean() ? 0 : 1 << 16) + random.nextInt(2 * IntBitmap.ARRAY_MAX);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), bitmap.add(value));
+            } else {
+                assertEquals(expected.remove(value), bitmap.remove(value));
+            }
+        }
+
+        assertEquals(expected.size(), bitmap.cardinality());
+        for (int value = 0; value < (1 << 16) + 2 * IntBitmap.ARRAY_MAX; value++) {
+            assertEquals(expected.contains(value), bitmap.contains(value));
+        }
+    }
+
+    private static void assertSetEvens(IntBitmap bitmap, int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(bitmap.contains(i * 2), "missing " + i * 2);
+            assertFalse(bitmap.contains(i * 2 + 1), "unexpected " + (i * 2 + 1));
+        }
+    }
+
+    // The storage of the single chunk; there is no public view of it
+    private static String containerType(IntBitmap bitmap) {
+        assertEquals(1, containerCount(bitmap));
+        return ((Object[]) field(bitmap, "containers"))[0].getClass().getSimpleName();
+    }
+
+    private static int containerCount(IntBitmap bitmap) {
+        return (int) field(bitmap, "size");
+    }
+
+    private static Object field(IntBitmap bitmap, String name) {
+        try {
+            Field field = IntBitmap.class.getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(bitmap);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
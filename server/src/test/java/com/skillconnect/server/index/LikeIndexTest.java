@@ -0,0 +1,118 @@
+package com.skillconnect.server.index;
+
+import com.skillconnect.server.repository.LikeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LikeIndexTest {
+
+    private LikeRepository likeRepository;
+    private LikeIndex likeIndex;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = mock(LikeRepository.class);
+        likeIndex = new LikeIndex(likeRepository);
+    }
+
+    @Test
+    void rebuildLoadsLikes() {
+        when(likeRepository.streamPostAndUserIds()).thenReturn(Stream.of(
+                new Object[]{1, 10}, new Object[]{1, 11}, new Object[]{2, 10}));
+        likeIndex.rebuild();
+
+        assertTrue(likeIndex.isReady());
+        assertEquals(2, likeIndex.count(1));
+        assertEquals(Set.of(1, 2), likeIndex.likedAmong(10, List.of(1, 2, 3)));
+        assertFalse(likeIndex.hasLiked(11, 2));
+    }
+
+    @Test
+    void writesDuringRebuildAreReplayedOverTheScan() {
+        // The unlike and the new like commit while the scan is still returning the old row
+        when(likeRepository.streamPostAndUserIds()).thenReturn(Stream.<Object[]>of(new Object[]{1, 10})
+                .peek(row -> {
+                    likeIndex.removeAfterCommit(1, 10);
+                    likeIndex.addAfterCommit(1, 12);
+                }));
+        likeIndex.rebuild();
+
+        assertFalse(likeIndex.hasLiked(10, 1));
+        assertTrue(likeIndex.hasLiked(12, 1));
+        assertEquals(1, likeIndex.count(1));
+    }
+
+    @Test
+    void failedBuildIsRetried() {
+        when(likeRepository.streamPostAndUserIds())
+                .thenThrow(new RuntimeException("connection lost"))
+                .thenReturn(Stream.<Object[]>of(new Object[]{1, 10}));
+        likeIndex.rebuild();
+        assertFalse(likeIndex.isReady());
+
+        likeIndex.retryBuild();
+
+        assertTrue(likeIndex.isReady());
+        assertTrue(likeIndex.hasLiked(10, 1));
+    }
+
+    @Test
+    void removePostDropsAllLikers() {
+        when(likeRepository.streamPostAndUserIds()).thenReturn(Stream.of(new Object[]{1, 10}, new Object[]{1, 11}));
+        likeIndex.rebuild();
+
+        likeIndex.removePostAfterCommit(1);
+
+        assertEquals(0, likeIndex.count(1));
+        assertFalse(likeIndex.hasLiked(10, 1));
+    }
+
+    @Test
+    void addRacingRemoveOfLastLikerIsKept() throws Exception {
+        when(likeRepository.streamPostAndUserIds()).thenReturn(Stream.empty());
+        likeIndex.rebuild();
+
+        // Each round starts a post with a single liker, then removes that liker while another user likes it.
+        // The remove empties and drops the bitmap; the add must not land in the dropped one
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int postId = 0; postId < 5000; postId++) {
+                int post = postId;
+                likeIndex.addAfterCommit(post, 1);
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> remove = executor.submit(() -> {
+                    start.await();
+                    likeIndex.removeAfterCommit(post, 1);
+                    return null;
+                });
+                Future<?> add = executor.submit(() -> {
+                    start.await();
+                    likeIndex.addAfterCommit(post, 2);
+                    return null;
+                });
+                start.countDown();
+                remove.get();
+                add.get();
+
+                assertTrue(likeIndex.hasLiked(2, post), "like lost on post " + post);
+                assertEquals(1, likeIndex.count(post));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.skillconnect.server.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Like throughput under contention: many threads liking the same few posts. Compares the old path
+ * (user lookup, post lookup, existing-like lookup, insert) with the single insertIfAbsent statement
+ * as declared on LikeRepository, and checks that the statement never creates a duplicate or fails.
+ * Needs a disposable Postgres, so it only runs when LIKE_BENCHMARK_DB_URL is set, e.g.
+ * LIKE_BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/postgres?user=postgres&password=postgres
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "LIKE_BENCHMARK_DB_URL", matches = ".+")
+class LikeInsertBenchmarkTest {
+
+    private static final String SCHEMA = "like_benchmark";
+    private static final int THREADS = 16;
+    private static final int LIKES_PER_THREAD = 2000;
+    private static final int USERS = 20;
+    private static final int POSTS = 5;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        try (HikariDataSource admin = dataSource(null)) {
+            JdbcTemplate template = new JdbcTemplate(admin);
+            template.execute("drop schema if exists " + SCHEMA + " cascade");
+            template.execute("create schema " + SCHEMA);
+        }
+        dataSource = dataSource("set search_path to " + SCHEMA);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("create table users (user_id integer primary key)");
+        jdbcTemplate.execute("create table posts (post_id integer primary key, user_id integer not null references users (user_id))");
+        jdbcTemplate.execute("create table likes (like_id serial primary key, " +
+                "user_id integer not null references users (user_id), post_id integer not null references posts (post_id), " +
+                "created_at timestamp, unique (user_id, post_id))");
+        jdbcTemplate.update("insert into users select generate_series(1, ?)", USERS);
+        jdbcTemplate.update("insert into posts select generate_series(1, ?), 1", POSTS);
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (dataSource != null) {
+            jdbcTemplate.execute("drop schema if exists " + SCHEMA + " cascade");
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void singleStatementOutpacesLookupThenInsert() throws Exception {
+        String insertIfAbsent = LikeRepository.class.getMethod("insertIfAbsent", int.class, int.class)
+                .getAnnotation(Query.class).value();
+        AtomicInteger failures = new AtomicInteger();
+
+        jdbcTemplate.execute("truncate likes");
+        double lookupThenInsert = likesPerSecond((userId, postId) -> {
+            jdbcTemplate.queryForObject("select count(*) from users where user_id = ?", Integer.class, userId);
+            jdbcTemplate.queryForObject("select count(*) from posts where post_id = ?", Integer.class, postId);
+            Integer existing = jdbcTemplate.queryForObject(
+                    "select count(*) from likes where user_id = ? and post_id = ?", Integer.class, userId, postId);
+            if (existing == 0) {
+                try {
+                    jdbcTemplate.update("insert into likes (user_id, post_id, created_at) values (?, ?, now())", userId, postId);
+                } catch (DuplicateKeyException e) {
+                    // The double tap the old path raced into
+                    failures.incrementAndGet();
+                }
+            }
+        });
+        int racedDuplicates = failures.getAndSet(0);
+
+        jdbcTemplate.execute("truncate likes");
+        double singleStatement = likesPerSecond((userId, postId) -> {
+            try {
+                namedJdbcTemplate.update(insertIfAbsent, Map.of("userId", userId, "postId", postId));
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+            }
+        });
+
+        System.out.printf("Likes/s with %d threads on %d posts: lookup then insert %.0f (%d raced duplicates), " +
+                "single statement %.0f%n", THREADS, POSTS, lookupThenInsert, racedDuplicates, singleStatement);
+        assertEquals(0, failures.get());
+        assertTrue(jdbcTemplate.queryForObject("select count(*) from likes", Integer.class) <= USERS * POSTS);
+        assertTrue(singleStatement > lookupThenInsert,
+                "single statement " + singleStatement + "/s vs lookup then insert " + lookupThenInsert + "/s");
+    }
+
+    private double likesPerSecond(LikeCall call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < LIKES_PER_THREAD; i++) {
+                        call.like(random.nextInt(USERS) + 1, random.nextInt(POSTS) + 1);
+                    }
+                    return null;
+                }));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return THREADS * LIKES_PER_THREAD / ((System.nanoTime() - began) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static HikariDataSource dataSource(String initSql) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getenv("LIKE_BENCHMARK_DB_URL"));
+        dataSource.setMaximumPoolSize(THREADS);
+        if (initSql != null) {
+            dataSource.setConnectionInitSql(initSql);
+        }
+        return dataSource;
+    }
+
+    @FunctionalInterface
+    private interface LikeCall {
+        void like(int userId, int postId);
+    }
+}
@@ -0,0 +1,181 @@
+package com.skillconnect.server.service.serviceImpl;
+
+import com.skillconnect.server.feed.TrendingTracker;
+import com.skillconnect.server.index.LikeIndex;
+import com.skillconnect.server.model.Notification;
+import com.skillconnect.server.repository.LikeRepository;
+import com.skillconnect.server.repository.PostRepository;
+import com.skillconnect.server.service.NotificationService;
+import com.skillconnect.server.service.PostCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent likes and unlikes of the same post by the same user. The repository is backed by a
+ * concurrent set, standing in for the unique (user_id, post_id) constraint, so exactly one request
+ * changes the row and only that one may count, index or notify.
+ */
+class LikeServiceImplTest {
+
+    private static final int THREADS = 16;
+    private static final int POST_ID = 10;
+    private static final int AUTHOR_ID = 1;
+    private static final int USER_ID = 2;
+
+    private final Set<List<Integer>> likes = ConcurrentHashMap.newKeySet();
+
+    private LikeRepository likeRepository;
+    private NotificationService notificationService;
+    private PostCounterService postCounterService;
+    private LikeIndex likeIndex;
+    private TrendingTracker trendingTracker;
+    private LikeServiceImpl likeService;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = mock(LikeRepository.class);
+        PostRepository postRepository = mock(PostRepository.class);
+        notificationService = mock(NotificationService.class);
+        postCounterService = mock(PostCounterService.class);
+        likeIndex = mock(LikeIndex.class);
+        trendingTracker = mock(TrendingTracker.class);
+
+        when(postRepository.existsById(POST_ID)).thenReturn(true);
+        when(postRepository.findAuthorIdAndCreatedAt(POST_ID))
+                .thenReturn(List.<Object[]>of(new Object[]{AUTHOR_ID, LocalDateTime.now()}));
+        // Like the statement, inserts nothing for a post that does not exist
+        when(likeRepository.insertIfAbsent(anyInt(), anyInt())).thenAnswer(invocation ->
+                (int) invocation.getArgument(1) == POST_ID
+                        && likes.add(List.of(invocation.getArgument(0), invocation.getArgument(1))) ? 1 : 0);
+        when(likeRepository.deleteByUserIdAndPostId(anyInt(), anyInt())).thenAnswer(invocation ->
+                likes.remove(List.of(invocation.getArgument(0), invocation.getArgument(1))) ? 1 : 0);
+
+        likeService = new LikeServiceImpl(likeRepository, postRepository, notificationService,
+                postCounterService, likeIndex, trendingTracker);
+    }
+
+    @Test
+    void concurrentLikesCreateOneLike() throws Exception {
+        assertEquals(1, countTrue(runConcurrently(() -> likeService.likePost(POST_ID, USER_ID))));
+
+        verify(postCounterService, times(1)).recordLike(POST_ID, 1);
+        verify(likeIndex, times(1)).addAfterCommit(POST_ID, USER_ID);
+        verify(trendingTracker, times(1)).recordLike(eq(POST_ID), any(), eq(1));
+        verify(notificationService, times(1)).enqueueNotification(AUTHOR_ID, USER_ID,
+                Notification.VERB_LIKE, Notification.TARGET_POST, POST_ID);
+    }
+
+    @Test
+    void concurrentUnlikesRemoveOneLike() throws Exception {
+        likeService.likePost(POST_ID, USER_ID);
+
+        assertEquals(1, countTrue(runConcurrently(() -> likeService.unlikePost(POST_ID, USER_ID))));
+
+        verify(postCounterService, times(1)).recordLike(POST_ID, -1);
+        verify(likeIndex, times(1)).removeAfterCommit(POST_ID, USER_ID);
+        verify(trendingTracker, times(1)).recordLike(eq(POST_ID), any(), eq(-1));
+    }
+
+    @Test
+    void interleavedLikesAndUnlikesKeepCountsBalanced() throws Exception {
+        List<Boolean> liked = new ArrayList<>();
+        List<Boolean> unliked = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> likeResults = new ArrayList<>();
+            List<Future<Boolean>> unlikeResults = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                likeResults.add(executor.submit(awaiting(start, () -> likeService.likePost(POST_ID, USER_ID))));
+                unlikeResults.add(executor.submit(awaiting(start, () -> likeService.unlikePost(POST_ID, USER_ID))));
+            }
+            start.countDown();
+            for (int i = 0; i < THREADS; i++) {
+                liked.add(likeResults.get(i).get());
+                unliked.add(unlikeResults.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every successful unlike removed a like that a successful like created
+        int remaining = likes.size();
+        assertEquals(countTrue(liked) - countTrue(unliked), remaining);
+        verify(postCounterService, times(countTrue(liked))).recordLike(POST_ID, 1);
+        verify(postCounterService, times(countTrue(unliked))).recordLike(POST_ID, -1);
+    }
+
+    @Test
+    void likeOfMissingPostIsReportedAndHasNoEffects() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> likeService.likePost(POST_ID + 1, USER_ID));
+
+        assertEquals("Post not found with id: " + (POST_ID + 1), error.getMessage());
+        verify(postCounterService, never()).recordLike(anyInt(), anyInt());
+        verify(notificationService, never()).enqueueNotification(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void likeByMissingUserKeepsTheConstraintViolationAsCause() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "insert or update on table \"likes\" violates foreign key constraint: Key (user_id)=(99) is not present");
+        when(likeRepository.insertIfAbsent(99, POST_ID)).thenThrow(violation);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> likeService.likePost(POST_ID, 99));
+
+        assertEquals("User not found with id: 99", error.getMessage());
+        assertEquals(violation, error.getCause());
+    }
+
+    private List<Boolean> runConcurrently(Callable<Boolean> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(awaiting(start, call)));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Callable<Boolean> awaiting(CountDownLatch start, Callable<Boolean> call) {
+        return () -> {
+            start.await();
+            return call.call();
+        };
+    }
+
+    private static int countTrue(List<Boolean> results) {
+        return (int) results.stream().filter(Boolean::booleanValue).count();
+    }
+}
@@ -0,0 +1,144 @@
+package com.skillconnect.server.service.serviceImpl;
+
+import com.skillconnect.server.service.NotificationCounterService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs db/partition-notifications.sql, then db/notification-payloads.sql, and the partition maintenance
+ * against a scratch schema.
+ * Needs a disposable Postgres, so it only runs when PARTITION_TEST_DB_URL is set, e.g.
+ * PARTITION_TEST_DB_URL=jdbc:postgresql://localhost:5432/postgres?user=postgres&password=postgres
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "PARTITION_TEST_DB_URL", matches = ".+")
+class NotificationPartitionServiceImplTest {
+
+    private static final String SCHEMA = "notification_partition_test";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NotificationPartitionServiceImpl partitionService;
+
+    @BeforeAll
+    void setUp() throws IOException {
+        dataSource = new SingleConnectionDataSource(System.getenv("PARTITION_TEST_DB_URL"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop schema if exists " + SCHEMA + " cascade");
+        jdbcTemplate.execute("create schema " + SCHEMA);
+        jdbcTemplate.execute("set search_path to " + SCHEMA);
+
+        // The unpartitioned tables as ddl-auto created them before structured payloads
+        jdbcTemplate.execute("create table users (user_id integer primary key)");
+        jdbcTemplate.execute("create table notifications (" +
+                "notification_id serial primary key, user_id integer not null references users (user_id), " +
+                "content text not null, is_read boolean not null, created_at timestamp not null, updated_at timestamp, " +
+                "verb varchar(255), target_id integer, actor_count integer default 1, latest_actor_ids varchar(255))");
+        jdbcTemplate.execute("create table notification_outbox (" +
+                "outbox_id serial primary key, verb varchar(255), actor_name varchar(255), content text)");
+        jdbcTemplate.execute("insert into users values (1)");
+        jdbcTemplate.update("insert into notifications (user_id, content, is_read, created_at) values (1, 'old', false, ?)",
+                LocalDateTime.now().minusMonths(2));
+        jdbcTemplate.update("insert into notifications (user_id, content, is_read, created_at) values (1, 'new', false, ?)",
+                LocalDateTime.now());
+
+        // The driver keeps the do $$ ... $$ block intact when it splits the script
+        jdbcTemplate.execute(new ClassPathResource("db/partition-notifications.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+        jdbcTemplate.execute(new ClassPathResource("db/notification-payloads.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+
+        partitionService = new NotificationPartitionServiceImpl(jdbcTemplate, mock(NotificationCounterService.class));
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.execute("drop schema if exists " + SCHEMA + " cascade");
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void scriptPartitionsTableAndKeepsRows() {
+        assertTrue(partitionService.isPartitioned());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from notifications where content in ('old', 'new')", Integer.class));
+        assertEquals(List.of("notification_id", "created_at"), primaryKeyColumns());
+        assertTrue(partitions().contains(partitionName(YearMonth.now().minusMonths(2))));
+
+        // New rows continue after the copied IDs
+        int id = jdbcTemplate.queryForObject("insert into notifications (user_id, content, is_read, created_at) " +
+                "values (1, 'next', false, now()) returning notification_id", Integer.class);
+        assertTrue(id > 2);
+    }
+
+    @Test
+    void payloadColumnsReachEveryPartition() {
+        jdbcTemplate.update("insert into notifications (user_id, is_read, created_at, verb, target_type, target_id, actor_id) " +
+                "values (1, false, ?, 'LIKE', 'POST', 7, 1)", LocalDateTime.now().minusMonths(2));
+        assertEquals("POST", jdbcTemplate.queryForObject("select target_type from " +
+                partitionName(YearMonth.now().minusMonths(2)) + " where content is null", String.class));
+    }
+
+    @Test
+    void createsAndDropsMonthlyPartitions() {
+        YearMonth ahead = YearMonth.now().plusMonths(6);
+        assertEquals(List.of(partitionName(ahead)), partitionService.createPartitions(ahead, 0));
+        assertTrue(partitionService.createPartitions(ahead, 0).isEmpty());
+
+        YearMonth expired = YearMonth.now().minusMonths(24);
+        partitionService.createPartitions(expired, 0);
+        assertEquals(List.of(partitionName(expired)), partitionService.dropPartitionsBefore(expired.plusMonths(1)));
+        assertFalse(partitions().contains(partitionName(expired)));
+    }
+
+    @Test
+    void boundedLookupPrunesOlderPartitions() {
+        YearMonth old = YearMonth.now().minusMonths(3);
+        partitionService.createPartitions(old, 0);
+
+        String plan = jdbcTemplate.queryForList("explain select * from notifications " +
+                        "where notification_id = 1 and created_at >= '" + LocalDate.now().atStartOfDay() + "'", String.class)
+                .stream().collect(Collectors.joining("\n"));
+        assertTrue(plan.contains(partitionName(YearMonth.now())), plan);
+        assertFalse(plan.contains(partitionName(old)), plan);
+    }
+
+    private List<String> primaryKeyColumns() {
+        return jdbcTemplate.queryForList("select a.attname from pg_index i " +
+                "join pg_attribute a on a.attrelid = i.indrelid and a.attnum = any (i.indkey) " +
+                "where i.indrelid = to_regclass('notifications') and i.indisprimary " +
+                "order by array_position(i.indkey::int2[], a.attnum)", String.class);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid " +
+                "where i.inhparent = to_regclass('notifications')", String.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "notifications_p" + month.format(SUFFIX);
+    }
+}